@@ -0,0 +1,80 @@
+package au.com.visiondigital.weatherDataBackend.benchmark;
+
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Contended key lookups on the weatherSummary cache as configured in production,
+ * from 1 to 32 threads over a small set of hot cities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheLookupBenchmark {
+
+    private static final String[] CITIES = {
+            "London", "Paris", "Tokyo", "New York", "Sydney", "Colombo", "Berlin", "Madrid",
+            "Toronto", "Mumbai", "Cairo", "Lima", "Seoul", "Rome", "Oslo", "Dublin"
+    };
+
+    private Cache cache;
+
+    @Setup
+    public void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new WeatherProperties());
+        cache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY);
+        for (String city : CITIES) {
+            cache.put(city, new WeatherData(city, 15.0, "2024-01-16", "2024-01-14"));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CompletableFuture<?> lookup_1Thread() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CompletableFuture<?> lookup_4Threads() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public CompletableFuture<?> lookup_16Threads() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public CompletableFuture<?> lookup_32Threads() {
+        return lookup();
+    }
+
+    private CompletableFuture<?> lookup() {
+        return cache.retrieve(CITIES[ThreadLocalRandom.current().nextInt(CITIES.length)]);
+    }
+}
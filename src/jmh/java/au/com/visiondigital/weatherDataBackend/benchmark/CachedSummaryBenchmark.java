@@ -0,0 +1,147 @@
+package au.com.visiondigital.weatherDataBackend.benchmark;
+
+import au.com.visiondigital.weatherDataBackend.client.QuotaScheduler;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamGuard;
+import au.com.visiondigital.weatherDataBackend.cluster.ClusterMembership;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.config.ClusterConfig;
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.config.WebClientConfig;
+import au.com.visiondigital.weatherDataBackend.dto.Versioned;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseEncoder;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
+import au.com.visiondigital.weatherDataBackend.metrics.WeatherMetrics;
+import au.com.visiondigital.weatherDataBackend.service.Impl.WeatherServiceImpl;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The cached getWeatherSummary hit path: alias lookup, the {@code CachedWeather} hit,
+ * the refresh-ahead check and the hit metrics, with the upstream replaced by the
+ * recorded forecast so a miss never leaves the process.
+ * The {@code write*} pair compares a hit written to the response stream through
+ * Jackson against the same hit written from the bytes kept with the entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedSummaryBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private WeatherService weatherService;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    // stands in for the servlet output stream; reset so only the write is measured
+    private final ByteArrayOutputStream response = new ByteArrayOutputStream(256);
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+        weatherService = context.getBean(WeatherService.class);
+        weatherService.getWeatherSummary("London").block();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public WeatherData cacheHit() {
+        return weatherService.getWeatherSummary("London").block();
+    }
+
+    @Benchmark
+    public int writeSerialized() throws IOException {
+        Versioned<WeatherData> summary = weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON).block();
+        response.reset();
+        objectMapper.writeValue(response, summary.getValue());
+        return response.size();
+    }
+
+    @Benchmark
+    public int writePreSerialized() throws IOException {
+        Versioned<WeatherData> summary = weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON).block();
+        response.reset();
+        response.write(summary.getEncoded().body());
+        return response.size();
+    }
+
+    @Configuration
+    @Import({CacheConfig.class, WeatherServiceImpl.class})
+    static class BenchmarkConfig {
+
+        @Bean
+        WeatherMetrics weatherMetrics() {
+            return new WeatherMetrics(new SimpleMeterRegistry());
+        }
+
+        @Bean
+        ResponseEncoder responseEncoder() {
+            return new ResponseEncoder(Jackson2ObjectMapperBuilder.json().build(), 512);
+        }
+
+        @Bean
+        ClusterMembership clusterMembership(WeatherProperties properties) {
+            return new ClusterConfig().clusterMembership(properties);
+        }
+
+        @Bean
+        PeerClient peerClient() {
+            return new PeerClient(WebClient.create());
+        }
+
+        @Bean
+        QuotaScheduler upstreamQuotaScheduler(WeatherProperties properties) {
+            return new WebClientConfig().upstreamQuotaScheduler(properties);
+        }
+
+        @Bean
+        UpstreamGuard upstreamGuard(WeatherProperties properties) {
+            return new WebClientConfig().upstreamGuard(properties);
+        }
+
+        @Bean
+        WebClient webClient() {
+            String forecast = Fixtures.read(Fixtures.LONDON_FORECAST);
+            return WebClient.builder()
+                    .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(forecast)
+                            .build()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package au.com.visiondigital.weatherDataBackend.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+
+/** Recorded OpenWeatherMap payloads shared by the benchmarks. */
+final class Fixtures {
+
+    static final String LONDON_FORECAST = "/forecast/london.json";
+
+    private Fixtures() {
+    }
+
+    static String read(String path) {
+        try (InputStream in = Fixtures.class.getResourceAsStream(path)) {
+            if (in == null) throw new IllegalStateException("missing fixture " + path);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package au.com.visiondigital.weatherDataBackend.benchmark;
+
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.parser.ForecastParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Throughput of parsing a recorded 40-entry forecast. Run with {@code -prof gc}
+ * to see bytes allocated per parse ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastParserBenchmark {
+
+    private final ForecastParser forecastParser = new ForecastParser();
+
+    private String forecast;
+
+    @Setup
+    public void setUp() {
+        forecast = Fixtures.read(Fixtures.LONDON_FORECAST);
+    }
+
+    @Benchmark
+    public WeatherData parse() {
+        return forecastParser.parse(forecast);
+    }
+}
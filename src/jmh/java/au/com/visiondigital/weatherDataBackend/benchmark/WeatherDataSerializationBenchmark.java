@@ -0,0 +1,93 @@
+package au.com.visiondigital.weatherDataBackend.benchmark;
+
+import au.com.visiondigital.weatherDataBackend.dto.BatchWeatherResult;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseEncoder;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+
+/**
+ * Encoding and decoding of a WeatherData response and of a 50-city batch result in each
+ * {@link ResponseFormat}, with an ObjectMapper configured like Spring MVC's. The encoded
+ * sizes are printed at setup, so one run compares both payload size and cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeatherDataSerializationBenchmark {
+
+    private static final TypeReference<List<BatchWeatherResult>> BATCH = new TypeReference<>() {
+    };
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public ResponseFormat format;
+
+    private final WeatherData weatherData = new WeatherData("London", 8.412345, "2024-01-16", "2024-01-14");
+
+    private final List<BatchWeatherResult> batch = IntStream.range(0, 50)
+            .mapToObj(i -> i % 10 == 9
+                    ? BatchWeatherResult.failure("City " + i, 404, "City not found: City " + i)
+                    : BatchWeatherResult.success("City " + i,
+                            new WeatherData("City " + i, 8.412345 + i, "2024-01-16", "2024-01-14")))
+            .toList();
+
+    private ObjectMapper objectMapper;
+    private byte[] encodedWeatherData;
+    private byte[] encodedBatch;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper = switch (format) {
+            case JSON -> json;
+            case CBOR -> ResponseEncoder.cbor(json);
+            case SMILE -> ResponseEncoder.smile(json);
+        };
+        encodedWeatherData = objectMapper.writeValueAsBytes(weatherData);
+        encodedBatch = objectMapper.writeValueAsBytes(batch);
+        System.out.printf("%n%s: WeatherData %d bytes, batch of %d %d bytes%n",
+                format, encodedWeatherData.length, batch.size(), encodedBatch.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(weatherData);
+    }
+
+    @Benchmark
+    public WeatherData deserialize() throws IOException {
+        return objectMapper.readValue(encodedWeatherData, WeatherData.class);
+    }
+
+    @Benchmark
+    public byte[] serializeBatch() throws IOException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public List<BatchWeatherResult> deserializeBatch() throws IOException {
+        return objectMapper.readValue(encodedBatch, BATCH);
+    }
+}
@@ -0,0 +1,69 @@
+package au.com.visiondigital.weatherDataBackend.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Upstream response delay distribution, parsed from {@code none}, {@code fixed:20ms},
+ * {@code uniform:10ms:100ms} or {@code lognormal:<median>:<p99>}. The log-normal
+ * shape gives the long tail real APIs have.
+ */
+final class LatencyModel {
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final String description;
+    private final Sampler sampler;
+
+    private interface Sampler {
+        long nanos(ThreadLocalRandom random);
+    }
+
+    private LatencyModel(String description, Sampler sampler) {
+        this.description = description;
+        this.sampler = sampler;
+    }
+
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "none":
+                return new LatencyModel(spec, random -> 0);
+            case "fixed": {
+                long nanos = nanos(parts, 1);
+                return new LatencyModel(spec, random -> nanos);
+            }
+            case "uniform": {
+                long min = nanos(parts, 1);
+                long max = nanos(parts, 2);
+                return new LatencyModel(spec, random -> random.nextLong(min, max + 1));
+            }
+            case "lognormal": {
+                double mu = Math.log(nanos(parts, 1));
+                double sigma = (Math.log(nanos(parts, 2)) - mu) / Z_99;
+                return new LatencyModel(spec, random -> (long) Math.exp(mu + sigma * random.nextGaussian()));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown latency model: " + spec);
+        }
+    }
+
+    long sampleNanos() {
+        return sampler.nanos(ThreadLocalRandom.current());
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static long nanos(String[] parts, int index) {
+        if (parts.length <= index) throw new IllegalArgumentException("Missing duration in " + String.join(":", parts));
+        Duration duration = DurationStyle.detectAndParse(parts[index]);
+        return duration.toNanos();
+    }
+}
@@ -0,0 +1,150 @@
+package au.com.visiondigital.weatherDataBackend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Open-model load: requests are sent at a fixed arrival rate whether or not earlier
+ * ones have completed, the way independent users arrive. Latency is measured from
+ * the time a request was scheduled to be sent, not from when it actually went out,
+ * so a stalled server shows up in the percentiles instead of slowing the generator
+ * down (coordinated omission).
+ * <p>
+ * Each request asks {@code /weather} for one of {@code cities} cities picked
+ * uniformly, or, with probability {@code unknownRate}, for a city the stub does not know.
+ */
+final class LoadGenerator {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final URI target;
+    private final int ratePerSecond;
+    private final int cities;
+    private final double unknownRate;
+    private final int maxInFlight;
+    private final Duration timeout;
+
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    LoadGenerator(URI target, int ratePerSecond, int cities, double unknownRate, int maxInFlight, Duration timeout) {
+        this.target = target;
+        this.ratePerSecond = ratePerSecond;
+        this.cities = cities;
+        this.unknownRate = unknownRate;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+    }
+
+    /** Result of the measured phase. */
+    record Report(Duration elapsed, long sent, long dropped, long failures, int peakInFlight,
+                  Map<Integer, Long> statuses, Histogram latencyMicros) {
+
+        void print(PrintStream out) {
+            long completed = latencyMicros.getTotalCount();
+            double seconds = elapsed.toNanos() / 1e9;
+            out.printf("%nRequests: %d sent, %d completed, %d dropped (over max in-flight), %d failed (I/O)%n",
+                    sent, completed, dropped, failures);
+            out.printf("Throughput: %.1f req/s, peak %d requests in flight%n", completed / seconds, peakInFlight);
+            out.printf("Status codes: %s%n", statuses);
+            out.printf("Latency (ms): p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                    millis(50), millis(90), millis(99), millis(99.9), latencyMicros.getMaxValue() / 1000.0);
+            out.println();
+            latencyMicros.outputPercentileDistribution(out, 5, 1000.0);
+        }
+
+        private double millis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    /** Runs {@code warmup} unmeasured, then {@code duration} measured, at the same arrival rate. */
+    Report run(Duration warmup, Duration duration) {
+        drive(warmup);
+        awaitInFlight();
+        recorder.reset();
+        statuses.clear();
+        failures.reset();
+        dropped.reset();
+        peakInFlight.set(0);
+
+        long start = System.nanoTime();
+        long sent = drive(duration);
+        awaitInFlight();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Report(elapsed, sent, dropped.sum(), failures.sum(), peakInFlight.get(), statusCounts,
+                recorder.getIntervalHistogram());
+    }
+
+    private long drive(Duration duration) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long count = duration.toNanos() / intervalNanos;
+        for (long i = 0; i < count; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            send(intended);
+        }
+        return count;
+    }
+
+    private void send(long intendedNanos) {
+        int current = inFlight.incrementAndGet();
+        if (current > maxInFlight) {
+            inFlight.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        peakInFlight.accumulateAndGet(current, Math::max);
+        HttpRequest request = HttpRequest.newBuilder(target.resolve("/weather?city=" + nextCity()))
+                .timeout(timeout)
+                .GET()
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    recorder.recordValue(Math.max(0, (System.nanoTime() - intendedNanos) / 1000));
+                    if (error != null) failures.increment();
+                    else statuses.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private String nextCity() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < unknownRate) return UpstreamStub.UNKNOWN_PREFIX + random.nextInt(cities);
+        return "city-" + random.nextInt(cities);
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package au.com.visiondigital.weatherDataBackend.loadtest;
+
+import au.com.visiondigital.weatherDataBackend.WeatherDataBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * End-to-end load test that needs neither network access nor API quota: starts the
+ * {@link UpstreamStub}, starts the application against it on a free port, drives
+ * {@code /weather} with the {@link LoadGenerator} and prints throughput and latency
+ * percentiles. With {@code --target=http://host:port} only the generator runs,
+ * against an instance that is already up.
+ * <p>
+ * Options ({@code --name=value}): rate (req/s, 200), duration (30s), warmup (10s),
+ * cities (1000), unknown-rate (0.02), max-in-flight (10000), timeout (10s),
+ * stub-latency ({@code none}, {@code fixed:20ms}, {@code uniform:10ms:100ms} or
+ * {@code lognormal:<median>:<p99>}, default lognormal:50ms:400ms), stub-error-rate
+ * (0.01), target. Any {@code --weather.*}, {@code --server.*}, {@code --spring.*},
+ * {@code --management.*} or {@code --logging.*} option is passed to the application,
+ * e.g. {@code --spring.threads.virtual.enabled=true} to compare request handling on
+ * virtual threads. The thread model the application actually started with is printed,
+ * as the property has no effect before Java 21.
+ */
+public final class LoadTest {
+
+    private static final List<String> APPLICATION_PREFIXES =
+            List.of("weather.", "server.", "spring.", "management.", "logging.");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // devtools would relaunch this main method with the application arguments only
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>();
+        Map<String, String> application = new LinkedHashMap<>();
+        // the stub is the bottleneck we want to measure through, not the plan quota
+        application.put("weather.upstream.quota.calls-per-minute", "6000000");
+        application.put("weather.upstream.quota.burst", "10000");
+        application.put("weather.upstream.quota.queue-capacity", "100000");
+        application.put("weather.cache.snapshot.enabled", "false");
+        application.put("logging.level.root", "ERROR");
+        application.put("spring.main.banner-mode", "off");
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (APPLICATION_PREFIXES.stream().anyMatch(name::startsWith)) application.put(name, value);
+            else options.put(name, value);
+        }
+
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        int cities = Integer.parseInt(options.getOrDefault("cities", "1000"));
+        double unknownRate = Double.parseDouble(options.getOrDefault("unknown-rate", "0.02"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "10s"));
+        LatencyModel latency = LatencyModel.parse(options.getOrDefault("stub-latency", "lognormal:50ms:400ms"));
+        double errorRate = Double.parseDouble(options.getOrDefault("stub-error-rate", "0.01"));
+
+        UpstreamStub stub = null;
+        ConfigurableApplicationContext context = null;
+        try {
+            URI target;
+            if (options.containsKey("target")) {
+                target = URI.create(options.get("target"));
+            } else {
+                stub = UpstreamStub.start(latency, errorRate);
+                application.put("weather.upstream.base-url", stub.baseUrl());
+                application.putIfAbsent("server.port", "0");
+                context = SpringApplication.run(WeatherDataBackendApplication.class, arguments(application));
+                target = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                System.out.printf("Stub at %s (latency %s, error rate %.3f), application at %s%n",
+                        stub.baseUrl(), latency, errorRate, target);
+                System.out.printf("Request threads: %s (Java %s)%n",
+                        Threading.VIRTUAL.isActive(context.getEnvironment()) ? "virtual" : "platform",
+                        Runtime.version().feature());
+            }
+            System.out.printf("Driving %s at %d req/s over %d cities (%.1f%% unknown): %s warmup, %s measured%n",
+                    target, rate, cities, unknownRate * 100, DurationStyle.SIMPLE.print(warmup),
+                    DurationStyle.SIMPLE.print(duration));
+
+            LoadGenerator generator = new LoadGenerator(target, rate, cities, unknownRate, maxInFlight, timeout);
+            generator.run(warmup, duration).print(System.out);
+            if (stub != null) System.out.printf("Upstream requests served by the stub: %d%n", stub.requests());
+        } finally {
+            if (context != null) context.close();
+            if (stub != null) stub.close();
+        }
+    }
+
+    private static String[] arguments(Map<String, String> application) {
+        return application.entrySet().stream()
+                .map(option -> "--" + option.getKey() + "=" + option.getValue())
+                .toArray(String[]::new);
+    }
+}
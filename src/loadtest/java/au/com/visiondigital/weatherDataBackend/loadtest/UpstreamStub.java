@@ -0,0 +1,142 @@
+package au.com.visiondigital.weatherDataBackend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Stand-in for OpenWeatherMap on a local port. {@code /data/2.5/forecast} answers with
+ * the recorded London forecast, renamed and given a stable city ID per requested
+ * city so each city gets its own cache entry. Responses are delayed per the
+ * {@link LatencyModel} without holding a thread. A share of requests fails with
+ * 500, and any city starting with {@value #UNKNOWN_PREFIX} gets a 404.
+ */
+final class UpstreamStub implements AutoCloseable {
+
+    static final String UNKNOWN_PREFIX = "unknown-";
+
+    private static final String FIXTURE = "/forecast/london.json";
+    private static final String CITY_FIELDS = "\"id\": 2643743,\n    \"name\": \"London\"";
+
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newFixedThreadPool(8);
+    private final ScheduledExecutorService delays = Executors.newScheduledThreadPool(2);
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final byte[] head;
+    private final byte[] tail;
+    private final LongAdder requests = new LongAdder();
+
+    private UpstreamStub(LatencyModel latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        String forecast = readFixture();
+        int city = forecast.indexOf(CITY_FIELDS);
+        if (city < 0) throw new IllegalStateException("Unexpected city block in " + FIXTURE);
+        this.head = forecast.substring(0, city).getBytes(StandardCharsets.UTF_8);
+        this.tail = forecast.substring(city + CITY_FIELDS.length()).getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(handlers);
+        server.createContext("/data/2.5/forecast", this::handle);
+        server.start();
+    }
+
+    static UpstreamStub start(LatencyModel latency, double errorRate) throws IOException {
+        return new UpstreamStub(latency, errorRate);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        delays.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) {
+        requests.increment();
+        String id = queryParameter(exchange, "id");
+        String name = id != null ? "City " + id : queryParameter(exchange, "q");
+        int status;
+        byte[] body;
+        if (name == null || name.startsWith(UNKNOWN_PREFIX)) {
+            status = 404;
+            body = "{\"cod\":\"404\",\"message\":\"city not found\"}".getBytes(StandardCharsets.UTF_8);
+        } else if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            status = 500;
+            body = "{\"cod\":\"500\",\"message\":\"stub error\"}".getBytes(StandardCharsets.UTF_8);
+        } else {
+            status = 200;
+            body = forecast(id != null ? Long.parseLong(id) : cityId(name), name);
+        }
+        delays.schedule(() -> respond(exchange, status, body), latency.sampleNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private byte[] forecast(long cityId, String name) {
+        byte[] city = ("\"id\": " + cityId + ",\n    \"name\": \"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[head.length + city.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(city, 0, body, head.length, city.length);
+        System.arraycopy(tail, 0, body, head.length + city.length, tail.length);
+        return body;
+    }
+
+    /** A stable positive ID per name, clear of the real London ID. */
+    private static long cityId(String name) {
+        return 10_000_000L + (name.toLowerCase().hashCode() & 0x7fffffff);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) {
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            // the client gave up; nothing to report from the stub side
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return null;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String readFixture() {
+        try (InputStream in = UpstreamStub.class.getResourceAsStream(FIXTURE)) {
+            if (in == null) throw new IllegalStateException("missing fixture " + FIXTURE);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
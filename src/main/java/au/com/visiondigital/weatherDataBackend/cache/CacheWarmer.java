@@ -0,0 +1,135 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.dto.WarmupStatistics;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Loads {@code weather.warmup.cities} and the cities in {@code weather.warmup.file}
+ * into weatherSummary at startup, {@code parallelism} at a time at background quota
+ * priority. Entries restored from the snapshot are skipped.
+ * <p>
+ * It runs as an {@link ApplicationRunner}, and Spring Boot only reports the
+ * application ready once runners return, so the readiness probe stays down until
+ * warm-up completes or {@code timeout} passes. Loads still running at the timeout
+ * carry on in the background.
+ */
+@Component
+@Slf4j
+public class CacheWarmer implements ApplicationRunner {
+
+    private final WeatherService weatherService;
+    private final WeatherProperties.Warmup properties;
+
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger alreadyCached = new AtomicInteger();
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+    private volatile int cities;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile boolean timedOut;
+
+    public CacheWarmer(WeatherService weatherService, WeatherProperties properties) {
+        this.weatherService = weatherService;
+        this.properties = properties.getWarmup();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> warmupCities = cities();
+        if (warmupCities.isEmpty()) return;
+
+        cities = warmupCities.size();
+        startNanos = System.nanoTime();
+        log.info("Warming weatherSummary with {} cities", cities);
+        CompletableFuture<Void> completion = Flux.fromIterable(warmupCities)
+                .flatMap(city -> weatherService.warmUp(city)
+                                .doOnNext(fetched -> (fetched ? loaded : alreadyCached).incrementAndGet())
+                                .onErrorResume(e -> {
+                                    failures.put(city, String.valueOf(e.getMessage()));
+                                    return Mono.empty();
+                                }),
+                        properties.getParallelism())
+                .doOnTerminate(this::finish)
+                .then()
+                .toFuture();
+        try {
+            completion.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            log.warn("Warm-up did not finish within {}; accepting traffic while the remaining loads continue",
+                    properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // per-city failures are recorded above; this is only reached on a bug
+            log.warn("Warm-up failed", e.getCause());
+        }
+    }
+
+    public WarmupStatistics statistics() {
+        long start = startNanos;
+        long end = endNanos;
+        String state = start == 0 ? "NOT_CONFIGURED" : end == 0 ? "RUNNING" : "COMPLETED";
+        long durationNanos = start == 0 ? 0 : (end == 0 ? System.nanoTime() : end) - start;
+        return new WarmupStatistics(
+                state,
+                cities,
+                loaded.get(),
+                alreadyCached.get(),
+                failures.size(),
+                Map.copyOf(failures),
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                timedOut);
+    }
+
+    private void finish() {
+        endNanos = System.nanoTime();
+        log.info("Warm-up finished in {} ms: {} loaded, {} already cached, {} failed",
+                TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos), loaded.get(), alreadyCached.get(),
+                failures.size());
+        if (!failures.isEmpty()) log.warn("Warm-up failures: {}", failures);
+    }
+
+    /** The configured cities, then those from the file, without repeating an alias. */
+    private List<String> cities() {
+        List<String> configured = new ArrayList<>(properties.getCities());
+        if (properties.getFile() != null && !properties.getFile().isBlank()) {
+            Path file = Path.of(properties.getFile());
+            try {
+                for (String line : Files.readAllLines(file)) {
+                    String city = line.strip();
+                    if (!city.isEmpty() && !city.startsWith("#")) configured.add(city);
+                }
+            } catch (IOException e) {
+                log.warn("Cannot read warm-up file {}", file, e);
+            }
+        }
+        Map<String, String> byAlias = new LinkedHashMap<>();
+        for (String city : configured) {
+            if (!city.isBlank()) byAlias.putIfAbsent(CityKeys.normalize(city), city);
+        }
+        return List.copyOf(byAlias.values());
+    }
+}
@@ -0,0 +1,108 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.EncodedBody;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+
+/**
+ * A weatherSummary cache entry: the summary and its per-day breakdown, plus the
+ * time it was fetched, the number of reads it has served and whether a background
+ * refresh is pending.
+ * <p>
+ * Entries are never updated in place, so the fetch time and a hash of the summary
+ * identify the version served to clients as its ETag. For the same reason the
+ * encoded response bodies are computed once and kept with the entry.
+ */
+public final class CachedWeather {
+
+    private static final int FORMATS = ResponseFormat.values().length;
+
+    private final WeatherData data;
+    private final WeatherBreakdown breakdown;
+    private final long fetchedAtMillis;
+    private final String version;
+    // one slot per ResponseFormat; racing first reads may both encode, the results are identical
+    private final AtomicReferenceArray<EncodedBody> encodedData = new AtomicReferenceArray<>(FORMATS);
+    private final AtomicReferenceArray<EncodedBody> encodedBreakdown = new AtomicReferenceArray<>(FORMATS);
+    private final LongAdder hits = new LongAdder();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    public CachedWeather(WeatherBreakdown breakdown, long fetchedAtMillis) {
+        this(breakdown.getSummary(), breakdown, fetchedAtMillis);
+    }
+
+    /** An entry without a breakdown; reads that need one treat it as a miss. */
+    public CachedWeather(WeatherData data, long fetchedAtMillis) {
+        this(data, null, fetchedAtMillis);
+    }
+
+    private CachedWeather(WeatherData data, WeatherBreakdown breakdown, long fetchedAtMillis) {
+        this.data = data;
+        this.breakdown = breakdown;
+        this.fetchedAtMillis = fetchedAtMillis;
+        this.version = Long.toString(fetchedAtMillis, Character.MAX_RADIX) + '-' + Integer.toHexString(data.hashCode());
+    }
+
+    public WeatherData getData() {
+        return data;
+    }
+
+    public WeatherBreakdown getBreakdown() {
+        return breakdown;
+    }
+
+    public long getFetchedAtMillis() {
+        return fetchedAtMillis;
+    }
+
+    public EncodedBody encodedData(ResponseFormat format, BiFunction<Object, ResponseFormat, EncodedBody> encoder) {
+        return encoded(encodedData, data, format, encoder);
+    }
+
+    /** Null when the entry has no breakdown, like {@link #getBreakdown()}. */
+    public EncodedBody encodedBreakdown(ResponseFormat format,
+                                        BiFunction<Object, ResponseFormat, EncodedBody> encoder) {
+        if (breakdown == null) return null;
+        return encoded(encodedBreakdown, breakdown, format, encoder);
+    }
+
+    private static EncodedBody encoded(AtomicReferenceArray<EncodedBody> slots, Object value, ResponseFormat format,
+                                       BiFunction<Object, ResponseFormat, EncodedBody> encoder) {
+        EncodedBody encoded = slots.get(format.ordinal());
+        if (encoded == null) slots.set(format.ordinal(), encoded = encoder.apply(value, format));
+        return encoded;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public boolean isStale(long nowMillis, Duration softTimeToLive) {
+        return nowMillis - fetchedAtMillis >= softTimeToLive.toMillis();
+    }
+
+    /** Claims the refresh of this entry; only the first caller after it goes stale wins. */
+    boolean markRefreshPending() {
+        return refreshPending.compareAndSet(false, true);
+    }
+
+    void clearRefreshPending() {
+        refreshPending.set(false);
+    }
+}
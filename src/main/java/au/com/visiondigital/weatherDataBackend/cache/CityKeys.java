@@ -0,0 +1,56 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.parser.ParsedForecast;
+
+import java.util.Locale;
+
+
+/**
+ * Cache keys for city lookups. A requested city is first normalized into an alias
+ * ({@code " London , GB "} and {@code "london,gb"} are the same alias). Aliases are
+ * what OpenWeatherMap is queried with (by {@code id} when the alias is a bare city ID,
+ * by {@code q} otherwise) and what the negative cache is keyed by. Once
+ * a load reveals the OpenWeatherMap city ID, the summary is stored under
+ * {@code id:<cityId>}, so every alias of one city shares one entry.
+ */
+public final class CityKeys {
+
+    private static final String ID_PREFIX = "id:";
+
+    private CityKeys() {
+    }
+
+    /** Trims, collapses inner whitespace, drops whitespace around commas and case-folds. */
+    public static String normalize(String city) {
+        String trimmed = city.strip();
+        StringBuilder alias = new StringBuilder(trimmed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && c != ',' && alias.length() > 0 && alias.charAt(alias.length() - 1) != ',') {
+                alias.append(' ');
+            }
+            pendingSpace = false;
+            alias.append(c);
+        }
+        return alias.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /** True for an alias made only of digits, which OpenWeatherMap reads as a city ID. */
+    public static boolean isCityId(String alias) {
+        if (alias.isEmpty()) return false;
+        for (int i = 0; i < alias.length(); i++) {
+            if (alias.charAt(i) < '0' || alias.charAt(i) > '9') return false;
+        }
+        return true;
+    }
+
+    /** The canonical summary key: the city ID if the response had one, otherwise the alias itself. */
+    public static String canonicalKey(String alias, long cityId) {
+        return cityId == ParsedForecast.UNKNOWN_CITY_ID ? alias : ID_PREFIX + cityId;
+    }
+}
@@ -0,0 +1,40 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Expires {@link CachedWeather} entries a fixed time after they were fetched upstream,
+ * not after they were inserted, so entries restored from a snapshot keep their
+ * original deadline. Other values expire a fixed time after they are written.
+ */
+public class FetchTimeExpiry implements Expiry<Object, Object> {
+
+    private final long timeToLiveNanos;
+
+    public FetchTimeExpiry(Duration timeToLive) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        if (value instanceof CachedWeather entry) {
+            long ageNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - entry.getFetchedAtMillis());
+            return Math.max(0, timeToLiveNanos - Math.max(0, ageNanos));
+        }
+        return timeToLiveNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,99 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.dto.RefreshStatistics;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Runs background reloads of stale cache entries on a small dedicated pool. Pending
+ * reloads wait in a priority queue ordered by how often the entry was read, so when
+ * the pool is busy the hottest cities are refreshed first. Each entry has at most one
+ * reload pending, which bounds the queue by the cache size; beyond the configured
+ * capacity reloads are dropped and the entry simply expires at its hard TTL.
+ */
+public class RefreshAheadExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public RefreshAheadExecutor(int threads, int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        AtomicLong threadNumber = new AtomicLong();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "weather-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Schedules a blocking {@code reload} of {@code entry} unless one is already pending.
+     * A reload that throws counts as failed and leaves the stale entry in place.
+     */
+    public boolean schedule(CachedWeather entry, Runnable reload) {
+        if (!entry.markRefreshPending()) return false;
+        if (executor.getQueue().size() >= queueCapacity) {
+            dropped.increment();
+            entry.clearRefreshPending();
+            return false;
+        }
+
+        scheduled.increment();
+        executor.execute(new RefreshTask(entry.getHits(), sequence.incrementAndGet(), () -> {
+            try {
+                reload.run();
+                succeeded.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+            } finally {
+                entry.clearRefreshPending();
+            }
+        }));
+        return true;
+    }
+
+    public RefreshStatistics statistics(String name) {
+        return new RefreshStatistics(
+                name,
+                executor.getQueue().size(),
+                executor.getActiveCount(),
+                scheduled.sum(),
+                succeeded.sum(),
+                failed.sum(),
+                dropped.sum()
+        );
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Orders pending reloads by hit count (highest first), then by submission order. */
+    private record RefreshTask(long hits, long sequence, Runnable delegate)
+            implements Runnable, Comparable<RefreshTask> {
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public int compareTo(RefreshTask other) {
+            int byHits = Long.compare(other.hits, hits);
+            return byHits != 0 ? byHits : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.dto.LoadStatistics;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader,
+ * every caller arriving while it is in flight waits for and shares its result
+ * (or its failure). Nothing is retained once the load completes.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder absorbedCallers = new LongAdder();
+    private final LongAccumulator maxAbsorbedPerLoad = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalLoadNanos = new LongAdder();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Flight<V> flight = new Flight<>();
+            Flight<V> leader = inFlight.putIfAbsent(key, flight);
+            if (leader != null) {
+                leader.waiters.increment();
+                absorbedCallers.increment();
+                return share(leader);
+            }
+
+            loads.increment();
+            // the load is subscribed independently of the leader so that a cancelled
+            // caller does not abort the fetch the other waiters are sharing
+            Mono.defer(loader).subscribe(
+                    value -> complete(key, flight, () -> flight.result.complete(value)),
+                    error -> {
+                        failures.increment();
+                        complete(key, flight, () -> flight.result.completeExceptionally(error));
+                    },
+                    () -> complete(key, flight, () -> flight.result.complete(null)));
+            return share(flight);
+        });
+    }
+
+    public LoadStatistics statistics(String name) {
+        long loadCount = loads.sum();
+        long absorbed = absorbedCallers.sum();
+        return new LoadStatistics(
+                name,
+                inFlight.size(),
+                loadCount,
+                failures.sum(),
+                absorbed,
+                maxAbsorbedPerLoad.get(),
+                loadCount == 0 ? 0.0 : (double) absorbed / loadCount,
+                loadCount == 0 ? 0.0 : totalLoadNanos.sum() / 1_000_000.0 / loadCount
+        );
+    }
+
+    private void complete(K key, Flight<V> flight, Runnable completion) {
+        if (flight.result.isDone()) return;
+        // leave the map before completing so a caller arriving afterwards starts a fresh load
+        inFlight.remove(key, flight);
+        totalLoadNanos.add(System.nanoTime() - flight.startNanos);
+        maxAbsorbedPerLoad.accumulate(flight.waiters.sum());
+        completion.run();
+    }
+
+    private static <V> Mono<V> share(Flight<V> flight) {
+        return Mono.fromFuture(flight.result, true);
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final LongAdder waiters = new LongAdder();
+        private final long startNanos = System.nanoTime();
+    }
+}
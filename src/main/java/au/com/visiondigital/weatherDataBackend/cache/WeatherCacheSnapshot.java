@@ -0,0 +1,162 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.dto.DailyWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperaturePercentiles;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Compact binary snapshot of weatherSummary entries.
+ * <pre>
+ * header: int magic, int version, int count
+ * entry:  string key, long fetchedAtMillis, long expiresAtMillis,
+ *         string city, double averageTemperature, string hottestDay, string coldestDay,
+ *         int aliasCount, string alias...,
+ *         boolean hasBreakdown, [int dayCount, day..., boolean hasPercentiles, [double p10, p25, p50, p75, p90]]
+ * day:    string date, double min, double max, double mean, int count
+ * string: int byteLength (-1 for null) followed by UTF-8 bytes
+ * </pre>
+ * Files are written to a temporary sibling and atomically moved into place, and
+ * read back through a read-only memory mapping.
+ */
+public final class WeatherCacheSnapshot {
+    private static final int MAGIC = 0x57534E50; // "WSNP"
+    // version 2 added the aliases of each entry, version 3 the per-day breakdown
+    private static final int VERSION = 3;
+
+    private WeatherCacheSnapshot() {
+    }
+
+    /** A summary under its canonical key, with the request aliases that resolve to it. */
+    public record Entry(String key, CachedWeather value, long expiresAtMillis, List<String> aliases) {
+    }
+
+    public static void write(Path file, List<Entry> entries) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+                data.writeInt(MAGIC);
+                data.writeInt(VERSION);
+                data.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    WeatherData weather = entry.value().getData();
+                    writeString(data, entry.key());
+                    data.writeLong(entry.value().getFetchedAtMillis());
+                    data.writeLong(entry.expiresAtMillis());
+                    writeString(data, weather.getCity());
+                    data.writeDouble(weather.getAverageTemperature());
+                    writeString(data, weather.getHottestDay());
+                    writeString(data, weather.getColdestDay());
+                    data.writeInt(entry.aliases().size());
+                    for (String alias : entry.aliases()) writeString(data, alias);
+                    writeBreakdown(data, entry.value().getBreakdown());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Reads the snapshot, skipping entries that expired at or before {@code nowMillis}. */
+    public static List<Entry> read(Path file, long nowMillis) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a weather cache snapshot: " + file);
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + ": " + file);
+
+            int count = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                long fetchedAtMillis = buffer.getLong();
+                long expiresAtMillis = buffer.getLong();
+                WeatherData weather = new WeatherData(
+                        readString(buffer), buffer.getDouble(), readString(buffer), readString(buffer));
+                int aliasCount = buffer.getInt();
+                List<String> aliases = new ArrayList<>(aliasCount);
+                for (int a = 0; a < aliasCount; a++) aliases.add(readString(buffer));
+                WeatherBreakdown breakdown = readBreakdown(buffer, weather);
+                if (expiresAtMillis > nowMillis) {
+                    CachedWeather value = breakdown != null
+                            ? new CachedWeather(breakdown, fetchedAtMillis)
+                            : new CachedWeather(weather, fetchedAtMillis);
+                    entries.add(new Entry(key, value, expiresAtMillis, aliases));
+                }
+            }
+            return entries;
+        }
+    }
+
+    private static void writeBreakdown(DataOutputStream data, WeatherBreakdown breakdown) throws IOException {
+        data.writeBoolean(breakdown != null);
+        if (breakdown == null) return;
+        data.writeInt(breakdown.getDays().size());
+        for (DailyWeather day : breakdown.getDays()) {
+            writeString(data, day.getDate());
+            data.writeDouble(day.getMinTemperature());
+            data.writeDouble(day.getMaxTemperature());
+            data.writeDouble(day.getMeanTemperature());
+            data.writeInt(day.getCount());
+        }
+        TemperaturePercentiles percentiles = breakdown.getPercentiles();
+        data.writeBoolean(percentiles != null);
+        if (percentiles == null) return;
+        data.writeDouble(percentiles.getP10());
+        data.writeDouble(percentiles.getP25());
+        data.writeDouble(percentiles.getP50());
+        data.writeDouble(percentiles.getP75());
+        data.writeDouble(percentiles.getP90());
+    }
+
+    private static WeatherBreakdown readBreakdown(ByteBuffer buffer, WeatherData summary) {
+        if (buffer.get() == 0) return null;
+        int dayCount = buffer.getInt();
+        List<DailyWeather> days = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            days.add(new DailyWeather(readString(buffer), buffer.getDouble(), buffer.getDouble(),
+                    buffer.getDouble(), buffer.getInt()));
+        }
+        TemperaturePercentiles percentiles = buffer.get() == 0 ? null : new TemperaturePercentiles(
+                buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+        return new WeatherBreakdown(summary, days, percentiles);
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
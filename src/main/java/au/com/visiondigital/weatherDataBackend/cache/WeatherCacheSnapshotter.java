@@ -0,0 +1,105 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Persists weatherSummary, together with the aliases resolving to each entry, to
+ * {@code weather.cache.snapshot.path} periodically and on
+ * shutdown, and restores it while the context starts, before the web server accepts
+ * requests and before the application reports ready. Entries whose hard TTL passed
+ * while the application was down are dropped on restore.
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.cache.snapshot", name = "enabled", havingValue = "true")
+@Slf4j
+public class WeatherCacheSnapshotter implements SmartInitializingSingleton, DisposableBean {
+
+    private final Cache weatherSummaryCache;
+    private final Cache aliasCache;
+    private final WeatherProperties.Cache cacheProperties;
+    private final Path snapshotPath;
+
+    public WeatherCacheSnapshotter(CacheManager cacheManager, WeatherProperties properties) {
+        this.weatherSummaryCache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY);
+        this.aliasCache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY_ALIASES);
+        this.cacheProperties = properties.getCache();
+        this.snapshotPath = Path.of(cacheProperties.getSnapshot().getPath());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        restore();
+    }
+
+    @Scheduled(fixedDelayString = "${weather.cache.snapshot.interval:5m}",
+            initialDelayString = "${weather.cache.snapshot.interval:5m}")
+    public void save() {
+        if (!(weatherSummaryCache instanceof CaffeineCache caffeineCache)) return;
+
+        Map<String, List<String>> aliasesByKey = new HashMap<>();
+        if (aliasCache instanceof CaffeineCache caffeineAliases) {
+            caffeineAliases.getNativeCache().asMap().forEach((alias, key) -> aliasesByKey
+                    .computeIfAbsent((String) key, k -> new ArrayList<>()).add((String) alias));
+        }
+
+        long now = System.currentTimeMillis();
+        long timeToLiveMillis = cacheProperties.getTimeToLive().toMillis();
+        List<WeatherCacheSnapshot.Entry> entries = new ArrayList<>();
+        for (Map.Entry<Object, Object> mapping : caffeineCache.getNativeCache().asMap().entrySet()) {
+            if (mapping.getKey() instanceof String key && mapping.getValue() instanceof CachedWeather entry) {
+                long expiresAt = entry.getFetchedAtMillis() + timeToLiveMillis;
+                if (expiresAt > now) {
+                    entries.add(new WeatherCacheSnapshot.Entry(key, entry, expiresAt,
+                            aliasesByKey.getOrDefault(key, List.of())));
+                }
+            }
+        }
+
+        try {
+            WeatherCacheSnapshot.write(snapshotPath, entries);
+            log.debug("Wrote {} weatherSummary entries to {}", entries.size(), snapshotPath);
+        } catch (IOException e) {
+            log.warn("Could not write weatherSummary snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        save();
+    }
+
+    private void restore() {
+        if (!Files.isRegularFile(snapshotPath)) return;
+
+        try {
+            List<WeatherCacheSnapshot.Entry> entries = WeatherCacheSnapshot.read(snapshotPath, System.currentTimeMillis());
+            for (WeatherCacheSnapshot.Entry entry : entries) {
+                weatherSummaryCache.put(entry.key(), entry.value());
+                entry.aliases().forEach(alias -> aliasCache.put(alias, entry.key()));
+            }
+            log.info("Restored {} weatherSummary entries from {}", entries.size(), snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            // a corrupt or incompatible snapshot only costs a cold start
+            log.warn("Ignoring unreadable weatherSummary snapshot {}", snapshotPath, e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package au.com.visiondigital.weatherDataBackend.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * AIMD concurrency limit for upstream calls. Each call that completes faster than
+ * {@code latencyThreshold} grows the limit by {@code 1 / limit} (about +1 per
+ * round trip at full concurrency); a slow call, a failure or a timeout multiplies it
+ * by {@code backoffRatio}. Calls beyond the current limit are rejected immediately
+ * instead of queueing behind a degraded upstream.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock limitLock = new ReentrantLock();
+    private volatile double limit;
+
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejectedCalls.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /** Releases a permit for a call that got a response after {@code latencyNanos}. */
+    public void onSuccess(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else {
+            increase();
+        }
+    }
+
+    /** Releases a permit for a call that failed or timed out. */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        decrease();
+    }
+
+    /** Releases a permit without adjusting the limit (e.g. a cancelled call). */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    private void increase() {
+        limitLock.lock();
+        try {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        } finally {
+            limitLock.unlock();
+        }
+    }
+
+    private void decrease() {
+        limitLock.lock();
+        try {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } finally {
+            limitLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package au.com.visiondigital.weatherDataBackend.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Count-based circuit breaker. While CLOSED the outcome of the last
+ * {@code slidingWindowSize} calls is kept; once at least {@code minimumCalls} are
+ * recorded and the failure rate reaches the threshold the breaker OPENs and rejects
+ * every call for {@code openDuration}. It then lets {@code halfOpenCalls} trial calls
+ * through (HALF_OPEN): if all succeed it closes again, the first failure re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // guarded by lock; a ReentrantLock rather than synchronized so virtual threads never pin
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public CircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenCalls) {
+        this(failureRateThreshold, slidingWindowSize, minimumCalls, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                   Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /** Returns whether a call may proceed; every permitted call must report exactly one outcome. */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.CLOSED) return true;
+            if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+                halfOpenPermits--;
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        rejectedCalls.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (++halfOpenSuccesses >= halfOpenCalls) close();
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open();
+            } else if (state == State.CLOSED) {
+                record(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** A permitted call that ended without a verdict (e.g. cancelled) hands its trial permit back. */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) halfOpenPermits++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getFailureRate() {
+        lock.lock();
+        try {
+            return windowCount == 0 ? 0.0 : (double) windowFailures / windowCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) windowFailures--;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) windowFailures++;
+        windowIndex = (windowIndex + 1) % window.length;
+        // evaluated on every outcome: a success can be the call that reaches minimumCalls
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) open();
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
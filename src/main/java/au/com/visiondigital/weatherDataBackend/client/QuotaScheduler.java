@@ -0,0 +1,220 @@
+package au.com.visiondigital.weatherDataBackend.client;
+
+import au.com.visiondigital.weatherDataBackend.dto.QuotaStatistics;
+import au.com.visiondigital.weatherDataBackend.exeption.QuotaExceededException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+
+/**
+ * Keeps upstream calls within the OpenWeatherMap plan quota using a token bucket
+ * refilled at {@code callsPerMinute}. Up to {@code burst} tokens are saved while the
+ * bucket is idle. When the bucket is empty, calls wait in a bounded queue. User-facing
+ * calls ({@link Priority#FOREGROUND}) leave the queue before background refreshes, in
+ * arrival order within a priority. Once the queue is full, calls fail immediately with
+ * {@link QuotaExceededException}.
+ */
+public class QuotaScheduler {
+
+    public enum Priority { FOREGROUND, BACKGROUND }
+
+    private final int callsPerMinute;
+    private final int burst;
+    private final int queueCapacity;
+    private final double tokensPerNano;
+    private final ScheduledThreadPoolExecutor timer;
+
+    // guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Pending<?>> queue = new PriorityQueue<>();
+    private double tokens;
+    private long refilledAtNanos;
+    private long sequence;
+    private boolean drainScheduled;
+
+    private final LongAdder admittedCalls = new LongAdder();
+    private final LongAdder queuedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public QuotaScheduler(int callsPerMinute, int burst, int queueCapacity) {
+        this.callsPerMinute = callsPerMinute;
+        this.burst = Math.max(1, burst);
+        this.queueCapacity = queueCapacity;
+        this.tokensPerNano = callsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = this.burst;
+        this.refilledAtNanos = System.nanoTime();
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "weather-quota");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /** Subscribes to {@code call} once a token is available for it. */
+    public <T> Mono<T> schedule(Priority priority, Supplier<Mono<T>> call) {
+        return Mono.create(sink -> {
+            Pending<T> pending;
+            long retryAfterSeconds = 0;
+            boolean runNow = false;
+            lock.lock();
+            try {
+                refill();
+                pending = new Pending<>(priority, sequence++, call, sink);
+                if (queue.isEmpty() && tokens >= 1) {
+                    tokens -= 1;
+                    runNow = true;
+                } else if (queue.size() >= queueCapacity) {
+                    retryAfterSeconds = secondsUntilTokens(queue.size() + 1);
+                    pending = null;
+                } else {
+                    queue.add(pending);
+                    scheduleDrain();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (pending == null) {
+                rejectedCalls.increment();
+                sink.error(new QuotaExceededException(
+                        "OpenWeatherMap call quota exceeded, retry in " + retryAfterSeconds + "s", retryAfterSeconds));
+                return;
+            }
+            Pending<T> registered = pending;
+            sink.onCancel(() -> cancel(registered));
+            if (runNow) {
+                admittedCalls.increment();
+                registered.start();
+            } else {
+                queuedCalls.increment();
+            }
+        });
+    }
+
+    public QuotaStatistics statistics() {
+        lock.lock();
+        try {
+            refill();
+            int foreground = 0;
+            for (Pending<?> pending : queue) {
+                if (pending.priority == Priority.FOREGROUND) foreground++;
+            }
+            return new QuotaStatistics(
+                    callsPerMinute,
+                    burst,
+                    (int) tokens,
+                    foreground,
+                    queue.size() - foreground,
+                    queueCapacity,
+                    admittedCalls.sum(),
+                    queuedCalls.sum(),
+                    rejectedCalls.sum()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void drain() {
+        List<Pending<?>> ready = new ArrayList<>();
+        lock.lock();
+        try {
+            drainScheduled = false;
+            refill();
+            while (tokens >= 1 && !queue.isEmpty()) {
+                Pending<?> next = queue.poll();
+                if (next.cancelled) continue;
+                tokens -= 1;
+                ready.add(next);
+            }
+            if (!queue.isEmpty()) scheduleDrain();
+        } finally {
+            lock.unlock();
+        }
+        for (Pending<?> pending : ready) {
+            admittedCalls.increment();
+            pending.start();
+        }
+    }
+
+    private void cancel(Pending<?> pending) {
+        pending.cancel();
+        lock.lock();
+        try {
+            queue.remove(pending);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // callers hold lock
+    private void scheduleDrain() {
+        if (drainScheduled) return;
+        drainScheduled = true;
+        long delayNanos = (long) Math.ceil(Math.max(0, 1 - tokens) / tokensPerNano);
+        timer.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // callers hold lock
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAtNanos) * tokensPerNano);
+        refilledAtNanos = now;
+    }
+
+    // callers hold lock
+    private long secondsUntilTokens(int needed) {
+        double nanos = Math.max(0, needed - tokens) / tokensPerNano;
+        return Math.max(1, (long) Math.ceil(nanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /** A queued call, ordered by priority and then by arrival. */
+    private static final class Pending<T> implements Comparable<Pending<?>> {
+        private final Priority priority;
+        private final long sequence;
+        private final Supplier<Mono<T>> call;
+        private final MonoSink<T> sink;
+        private volatile boolean cancelled;
+        private volatile Disposable running;
+
+        private Pending(Priority priority, long sequence, Supplier<Mono<T>> call, MonoSink<T> sink) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.call = call;
+            this.sink = sink;
+        }
+
+        private void start() {
+            if (cancelled) return;
+            running = Mono.defer(call).subscribe(sink::success, sink::error, () -> sink.success());
+            if (cancelled) running.dispose();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Disposable subscription = running;
+            if (subscription != null) subscription.dispose();
+        }
+
+        @Override
+        public int compareTo(Pending<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package au.com.visiondigital.weatherDataBackend.client;
+
+import au.com.visiondigital.weatherDataBackend.dto.UpstreamResilienceStatistics;
+import au.com.visiondigital.weatherDataBackend.exeption.UpstreamUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+
+/**
+ * Puts a {@link CircuitBreaker} and an {@link AdaptiveConcurrencyLimiter} in front of
+ * upstream calls. Rejected calls fail immediately with {@link UpstreamUnavailableException}.
+ * Client errors other than 429 mean the upstream is healthy and count as successes.
+ */
+public class UpstreamGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public UpstreamGuard(CircuitBreaker circuitBreaker, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.circuitBreaker = circuitBreaker;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return Mono.error(new UpstreamUnavailableException("OpenWeatherMap circuit breaker is open"));
+            }
+            if (!concurrencyLimiter.tryAcquire()) {
+                circuitBreaker.onIgnored();
+                return Mono.error(new UpstreamUnavailableException("OpenWeatherMap concurrency limit reached"));
+            }
+
+            long start = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            return Mono.defer(call)
+                    .doOnSuccess(value -> {
+                        if (settled.compareAndSet(false, true)) healthy(start);
+                    })
+                    .doOnError(error -> {
+                        if (!settled.compareAndSet(false, true)) return;
+                        if (isUpstreamFailure(error)) {
+                            concurrencyLimiter.onDropped();
+                            circuitBreaker.onFailure();
+                        } else {
+                            healthy(start);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            concurrencyLimiter.onIgnored();
+                            circuitBreaker.onIgnored();
+                        }
+                    });
+        });
+    }
+
+    public UpstreamResilienceStatistics statistics() {
+        return new UpstreamResilienceStatistics(
+                circuitBreaker.getState().name(),
+                circuitBreaker.getFailureRate(),
+                circuitBreaker.getRejectedCalls(),
+                concurrencyLimiter.getLimit(),
+                concurrencyLimiter.getInFlight(),
+                concurrencyLimiter.getRejectedCalls()
+        );
+    }
+
+    private void healthy(long startNanos) {
+        concurrencyLimiter.onSuccess(System.nanoTime() - startNanos);
+        circuitBreaker.onSuccess();
+    }
+
+    private static boolean isUpstreamFailure(Throwable error) {
+        return !(error instanceof WebClientResponseException response
+                && response.getStatusCode().is4xxClientError()
+                && response.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+}
@@ -0,0 +1,99 @@
+package au.com.visiondigital.weatherDataBackend.client;
+
+import au.com.visiondigital.weatherDataBackend.dto.ConnectionPoolStatistics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+
+
+/**
+ * Collects the live gauges Reactor Netty publishes for each upstream connection pool
+ * (one per pool name and remote address). Once bound to a {@link MeterRegistry}, each
+ * pool is also published as {@code weather.upstream.pool.*} gauges for as long as it exists.
+ */
+public class UpstreamPoolMetrics implements ConnectionProvider.MeterRegistrar, MeterBinder {
+
+    private final Map<String, Registration> pools = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        Registration registration = new Registration(poolName, String.valueOf(remoteAddress), metrics);
+        pools.put(id, registration);
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) registration.bindTo(registry);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        Registration registration = pools.remove(id);
+        if (registration != null) registration.unbind();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        pools.values().forEach(registration -> registration.bindTo(registry));
+    }
+
+    public List<ConnectionPoolStatistics> statistics() {
+        return pools.values().stream()
+                .map(pool -> new ConnectionPoolStatistics(
+                        pool.name,
+                        pool.remoteAddress,
+                        pool.metrics.acquiredSize(),
+                        pool.metrics.idleSize(),
+                        pool.metrics.allocatedSize(),
+                        pool.metrics.maxAllocatedSize(),
+                        pool.metrics.pendingAcquireSize(),
+                        pool.metrics.maxPendingAcquireSize()))
+                .toList();
+    }
+
+    private static final class Registration {
+        private final String name;
+        private final String remoteAddress;
+        private final ConnectionPoolMetrics metrics;
+        private final List<Meter> meters = new CopyOnWriteArrayList<>();
+        private volatile MeterRegistry boundTo;
+
+        private Registration(String name, String remoteAddress, ConnectionPoolMetrics metrics) {
+            this.name = name;
+            this.remoteAddress = remoteAddress;
+            this.metrics = metrics;
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            boundTo = registry;
+            Tags tags = Tags.of("pool", name, "remote", remoteAddress);
+            gauge(registry, "weather.upstream.pool.connections", tags.and("state", "active"),
+                    ConnectionPoolMetrics::acquiredSize);
+            gauge(registry, "weather.upstream.pool.connections", tags.and("state", "idle"),
+                    ConnectionPoolMetrics::idleSize);
+            gauge(registry, "weather.upstream.pool.connections.max", tags, ConnectionPoolMetrics::maxAllocatedSize);
+            gauge(registry, "weather.upstream.pool.pending", tags, ConnectionPoolMetrics::pendingAcquireSize);
+            gauge(registry, "weather.upstream.pool.pending.max", tags, ConnectionPoolMetrics::maxPendingAcquireSize);
+        }
+
+        private void unbind() {
+            MeterRegistry registry = boundTo;
+            if (registry != null) meters.forEach(registry::remove);
+            meters.clear();
+        }
+
+        private void gauge(MeterRegistry registry, String name, Tags tags, ToDoubleFunction<ConnectionPoolMetrics> value) {
+            meters.add(Gauge.builder(name, metrics, value).tags(tags).register(registry));
+        }
+    }
+}
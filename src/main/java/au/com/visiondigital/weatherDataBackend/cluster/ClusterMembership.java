@@ -0,0 +1,70 @@
+package au.com.visiondigital.weatherDataBackend.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * This instance's view of the cluster: the static list of node base URLs and which
+ * node owns each city alias. The owner is the only node that fetches the city from
+ * OpenWeatherMap and holds it in weatherSummary. When cluster mode is off this node
+ * owns every alias.
+ */
+public class ClusterMembership {
+
+    private final boolean enabled;
+    private final String self;
+    private final int virtualNodes;
+    private final ConsistentHashRing ring;
+
+    public ClusterMembership(boolean enabled, String self, List<String> peers, int virtualNodes) {
+        this.enabled = enabled;
+        this.virtualNodes = virtualNodes;
+        if (!enabled) {
+            this.self = self == null ? null : baseUrl(self);
+            this.ring = null;
+            return;
+        }
+        if (self == null || self.isBlank()) {
+            throw new IllegalStateException("weather.cluster.self must be set when cluster mode is enabled");
+        }
+        this.self = baseUrl(self);
+        // every node lists the others by the URL they advertise as self, so the rings match
+        List<String> nodes = new ArrayList<>(peers.size() + 1);
+        nodes.add(this.self);
+        for (String peer : peers) {
+            if (!peer.isBlank()) nodes.add(baseUrl(peer));
+        }
+        this.ring = new ConsistentHashRing(nodes, virtualNodes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public List<String> getNodes() {
+        return ring == null ? List.of() : ring.nodes();
+    }
+
+    /** The base URL of the node that owns {@code alias}. */
+    public String ownerOf(String alias) {
+        return ring == null ? self : ring.ownerOf(alias);
+    }
+
+    public boolean isLocal(String alias) {
+        return ring == null || ring.ownerOf(alias).equals(self);
+    }
+
+    private static String baseUrl(String url) {
+        String trimmed = url.strip();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,81 @@
+package au.com.visiondigital.weatherDataBackend.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+/**
+ * Consistent hash ring mapping keys to nodes. Each node is placed at
+ * {@code virtualNodes} points on a 64-bit ring and a key belongs to the first point
+ * at or after its hash, so adding or removing one of {@code n} nodes moves only
+ * about {@code 1/n} of the keys.
+ * <p>
+ * The hash is computed from the UTF-8 bytes alone, so every instance given the same
+ * node list builds the same ring regardless of JVM or list order.
+ */
+public final class ConsistentHashRing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<String> nodes;
+    // sorted ring points and the node at each, searched with a binary search
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) throw new IllegalArgumentException("A hash ring needs at least one node");
+        if (virtualNodes < 1) throw new IllegalArgumentException("virtualNodes must be positive");
+        this.nodes = List.copyOf(new TreeSet<>(nodes));
+
+        // nodes are visited in sorted order, so the rare colliding point goes to the same node everywhere
+        TreeMap<Long, String> ring = new TreeMap<>(Long::compareUnsigned);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(node + '#' + i), node);
+            }
+        }
+        this.points = new long[ring.size()];
+        this.owners = new String[ring.size()];
+        int index = 0;
+        for (Map.Entry<Long, String> point : ring.entrySet()) {
+            points[index] = point.getKey();
+            owners[index++] = point.getValue();
+        }
+    }
+
+    public String ownerOf(String key) {
+        long hash = hash(key);
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return owners[low == points.length ? 0 : low];
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /** FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer to spread short, similar keys. */
+    static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,54 @@
+package au.com.visiondigital.weatherDataBackend.cluster;
+
+import au.com.visiondigital.weatherDataBackend.cache.CityKeys;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.dto.LoadStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.PeerWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * Fetches a city's cached forecast from the node that owns it. Concurrent requests
+ * for the same city and owner share one call.
+ */
+public class PeerClient {
+
+    /** Served by every node; answers from its own cache or upstream, never forwarding again. */
+    public static final String PEER_WEATHER_PATH = "/cluster/weather";
+    /** Served by every node from its own temperature store. */
+    public static final String PEER_HISTORY_PATH = "/cluster/history";
+
+    private final WebClient webClient;
+    private final SingleFlight<String, PeerWeather> fetches = new SingleFlight<>();
+
+    public PeerClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public Mono<PeerWeather> fetch(String owner, String city) {
+        return fetches.execute(owner + ' ' + CityKeys.normalize(city), () -> webClient
+                .get()
+                .uri(owner + PEER_WEATHER_PATH + "?city={city}", city)
+                .retrieve()
+                .bodyToMono(PeerWeather.class)
+                .onErrorMap(WebClientResponseException.NotFound.class, e -> new CityNotFoundException(city)));
+    }
+
+    /** The owner's temperature history for the city; empty when it has none. */
+    public Mono<TemperatureHistory> history(String owner, String city, int days) {
+        return webClient
+                .get()
+                .uri(owner + PEER_HISTORY_PATH + "?city={city}&days={days}", city, days)
+                .retrieve()
+                .bodyToMono(TemperatureHistory.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+    }
+
+    public LoadStatistics statistics(String name) {
+        return fetches.statistics(name);
+    }
+}
@@ -1,15 +1,85 @@
 package au.com.visiondigital.weatherDataBackend.config;
 
+import au.com.visiondigital.weatherDataBackend.cache.CachedWeather;
+import au.com.visiondigital.weatherDataBackend.cache.FetchTimeExpiry;
+import au.com.visiondigital.weatherDataBackend.cache.RefreshAheadExecutor;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.timeseries.TemperatureStore;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 
 @Configuration
+@EnableCaching
+@EnableConfigurationProperties(WeatherProperties.class)
 public class CacheConfig {
+
+    public static final String WEATHER_SUMMARY = "weatherSummary";
+    public static final String WEATHER_SUMMARY_LAST_KNOWN = "weatherSummaryLastKnown";
+    public static final String WEATHER_SUMMARY_NOT_FOUND = "weatherSummaryNotFound";
+    public static final String WEATHER_SUMMARY_ALIASES = "weatherSummaryAliases";
+    public static final String WEATHER_SUMMARY_NEAR = "weatherSummaryNear";
+
+    @Bean
+    public CacheManager cacheManager(WeatherProperties properties) {
+        WeatherProperties.Cache cache = properties.getCache();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(WEATHER_SUMMARY);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfter(new FetchTimeExpiry(cache.getTimeToLive()))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // entries are stored as completed futures so lookups never block on a load
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.registerCustomCache(WEATHER_SUMMARY_LAST_KNOWN, Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getLastKnownTimeToLive())
+                .recordStats()
+                .buildAsync());
+        // negative entries for unknown cities, bounded separately so typo and bot traffic
+        // cannot evict real summaries
+        cacheManager.registerCustomCache(WEATHER_SUMMARY_NOT_FOUND, Caffeine.newBuilder()
+                .maximumSize(cache.getNotFoundMaximumSize())
+                .expireAfterWrite(cache.getNotFoundTimeToLive())
+                .recordStats()
+                .buildAsync());
+        // normalized city alias -> canonical weatherSummary key (see CityKeys); kept as long
+        // as the last known summaries so a reload after expiry lands on the same entry
+        cacheManager.registerCustomCache(WEATHER_SUMMARY_ALIASES, Caffeine.newBuilder()
+                .maximumSize(cache.getAliasMaximumSize())
+                .expireAfterWrite(cache.getLastKnownTimeToLive())
+                .recordStats()
+                .buildAsync());
+        // cluster mode: summaries of cities owned by other nodes, keyed by alias and kept briefly
+        WeatherProperties.Cluster cluster = properties.getCluster();
+        cacheManager.registerCustomCache(WEATHER_SUMMARY_NEAR, Caffeine.newBuilder()
+                .maximumSize(cluster.getNearCacheMaximumSize())
+                .expireAfterWrite(cluster.getNearCacheTimeToLive())
+                .recordStats()
+                .buildAsync());
+        return cacheManager;
+    }
+
+    @Bean
+    public SingleFlight<String, CachedWeather> weatherSummaryLoads() {
+        return new SingleFlight<>();
+    }
+
+    @Bean
+    public RefreshAheadExecutor weatherSummaryRefresher(WeatherProperties properties) {
+        WeatherProperties.Cache cache = properties.getCache();
+        return new RefreshAheadExecutor(cache.getRefreshThreads(), cache.getRefreshQueueCapacity());
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("weatherSummary");
+    public TemperatureStore temperatureStore(WeatherProperties properties) {
+        WeatherProperties.History history = properties.getHistory();
+        return new TemperatureStore(history.getMaxCities(), history.getPointsPerCity());
     }
 }
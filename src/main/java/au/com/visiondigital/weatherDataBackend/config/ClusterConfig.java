@@ -0,0 +1,33 @@
+package au.com.visiondigital.weatherDataBackend.config;
+
+import au.com.visiondigital.weatherDataBackend.cluster.ClusterMembership;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+
+/** Optional cluster mode, see {@link WeatherProperties.Cluster}. */
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    public ClusterMembership clusterMembership(WeatherProperties properties) {
+        WeatherProperties.Cluster cluster = properties.getCluster();
+        return new ClusterMembership(cluster.isEnabled(), cluster.getSelf(), cluster.getPeers(),
+                cluster.getVirtualNodes());
+    }
+
+    @Bean
+    public PeerClient peerClient(WebClient.Builder builder, WeatherProperties properties) {
+        WeatherProperties.Cluster cluster = properties.getCluster();
+        // kept off the upstream pool so peer traffic never queues behind OpenWeatherMap calls
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) cluster.getPeerTimeout().toMillis())
+                .responseTimeout(cluster.getPeerTimeout());
+        return new PeerClient(builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build());
+    }
+}
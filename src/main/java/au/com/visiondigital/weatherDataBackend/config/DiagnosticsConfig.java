@@ -0,0 +1,23 @@
+package au.com.visiondigital.weatherDataBackend.config;
+
+import au.com.visiondigital.weatherDataBackend.diagnostics.RequestEventInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+
+/**
+ * JDK Flight Recorder events for {@code /weather} requests; see the {@code diagnostics}
+ * package. Record them with {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start},
+ * or read the slow ones from {@code GET /diagnostics/slow-requests}.
+ */
+@Configuration
+public class DiagnosticsConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // the stream and batch endpoints are not traced: one is long-lived, the other has no single city
+        registry.addInterceptor(new RequestEventInterceptor())
+                .addPathPatterns("/weather", "/weather/daily", "/weather/history");
+    }
+}
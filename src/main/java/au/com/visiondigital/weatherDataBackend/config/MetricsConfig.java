@@ -0,0 +1,45 @@
+package au.com.visiondigital.weatherDataBackend.config;
+
+import au.com.visiondigital.weatherDataBackend.cache.CacheWarmer;
+import au.com.visiondigital.weatherDataBackend.cache.CachedWeather;
+import au.com.visiondigital.weatherDataBackend.cache.RefreshAheadExecutor;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.client.QuotaScheduler;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamGuard;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.metrics.WeatherMetrics;
+import au.com.visiondigital.weatherDataBackend.metrics.WeatherPipelineMeterBinder;
+import au.com.visiondigital.weatherDataBackend.service.WeatherStreamService;
+import au.com.visiondigital.weatherDataBackend.timeseries.TemperatureStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+/**
+ * Weather pipeline meters. Actuator binds the Caffeine cache metrics
+ * ({@code cache.gets}, {@code cache.evictions}, ...) and {@code http.server.requests}
+ * on its own; these add the upstream, parse and load pipeline on top.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public WeatherMetrics weatherMetrics(MeterRegistry meterRegistry) {
+        return new WeatherMetrics(meterRegistry);
+    }
+
+    @Bean
+    public WeatherPipelineMeterBinder weatherPipelineMeterBinder(SingleFlight<String, CachedWeather> weatherSummaryLoads,
+                                                                 RefreshAheadExecutor weatherSummaryRefresher,
+                                                                 QuotaScheduler upstreamQuotaScheduler,
+                                                                 UpstreamGuard upstreamGuard,
+                                                                 TemperatureStore temperatureStore,
+                                                                 CacheWarmer cacheWarmer,
+                                                                 PeerClient peerClient,
+                                                                 WeatherStreamService weatherStreamService) {
+        return new WeatherPipelineMeterBinder(weatherSummaryLoads, weatherSummaryRefresher,
+                upstreamQuotaScheduler, upstreamGuard, temperatureStore, cacheWarmer, peerClient,
+                weatherStreamService);
+    }
+}
@@ -0,0 +1,34 @@
+package au.com.visiondigital.weatherDataBackend.config;
+
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+
+/**
+ * Encoding of the cached {@code /weather} response bodies, see {@link WeatherProperties.Response}.
+ * The CBOR and Smile converters let every other endpoint, {@code /weather/batch} included,
+ * answer an {@code Accept} for those formats too; Boot adds converter beans to its defaults.
+ */
+@Configuration
+public class ResponseConfig {
+
+    @Bean
+    public ResponseEncoder responseEncoder(ObjectMapper objectMapper, WeatherProperties properties) {
+        WeatherProperties.Response response = properties.getResponse();
+        return new ResponseEncoder(objectMapper, response.isGzip() ? (int) response.getGzipMinSize().toBytes() : -1);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(ResponseEncoder.cbor(objectMapper));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(ResponseEncoder.smile(objectMapper));
+    }
+}
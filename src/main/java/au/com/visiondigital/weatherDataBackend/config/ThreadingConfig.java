@@ -0,0 +1,30 @@
+package au.com.visiondigital.weatherDataBackend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+
+/**
+ * Execution model for blocking work. With {@code spring.threads.virtual.enabled=true}
+ * Spring Boot handles each Tomcat request on its own virtual thread; otherwise requests
+ * run on Tomcat's platform thread pool. Nothing else on the request path is affected.
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    @ConditionalOnJava(value = JavaVersion.TWENTY_ONE, range = ConditionalOnJava.Range.OLDER_THAN)
+    public ApplicationRunner virtualThreadsUnavailableWarning() {
+        return args -> log.warn("spring.threads.virtual.enabled is set but the JVM is {}; virtual threads need "
+                + "Java 21+, so request handling stays on platform threads", JavaVersion.getJavaVersion());
+    }
+}
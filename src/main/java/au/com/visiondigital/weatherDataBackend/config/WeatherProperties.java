@@ -0,0 +1,264 @@
+package au.com.visiondigital.weatherDataBackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Data
+@ConfigurationProperties(prefix = "weather")
+public class WeatherProperties {
+
+    private final Cache cache = new Cache();
+    private final Batch batch = new Batch();
+    private final Upstream upstream = new Upstream();
+    private final History history = new History();
+    private final Response response = new Response();
+    private final Warmup warmup = new Warmup();
+    private final Cluster cluster = new Cluster();
+    private final Stream stream = new Stream();
+    private final Diagnostics diagnostics = new Diagnostics();
+
+    @Data
+    public static class Cache {
+        /** Upper bound on the number of cached city summaries. */
+        private long maximumSize = 10_000;
+
+        /** Hard TTL: how long a summary stays cached after it was fetched. */
+        private Duration timeToLive = Duration.ofMinutes(30);
+
+        /**
+         * Soft TTL: once a summary is older than this, reads still return it but
+         * trigger a background reload. Set it to at least the TTL to disable.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(20);
+
+        /** Threads reloading stale entries in the background. */
+        private int refreshThreads = 2;
+
+        /** Maximum stale entries waiting for a background reload. */
+        private int refreshQueueCapacity = 1_000;
+
+        /** Upper bound on one background reload. */
+        private Duration refreshTimeout = Duration.ofSeconds(10);
+
+        /**
+         * How long the last successfully fetched summary is kept as a fallback for
+         * when the upstream circuit breaker is open or the concurrency limit is reached.
+         */
+        private Duration lastKnownTimeToLive = Duration.ofHours(24);
+
+        /** How long a city OpenWeatherMap does not know is answered with 404 without asking again. */
+        private Duration notFoundTimeToLive = Duration.ofMinutes(10);
+
+        private long notFoundMaximumSize = 10_000;
+
+        /** Bound on distinct spellings remembered as aliases of a canonical city key. */
+        private long aliasMaximumSize = 50_000;
+
+        private final Snapshot snapshot = new Snapshot();
+    }
+
+    @Data
+    public static class Snapshot {
+        /** Persist the cache across restarts. */
+        private boolean enabled = false;
+
+        /** Snapshot file; written atomically via a temporary sibling. */
+        private String path = "weather-summary.snapshot";
+
+        /** How often the cache is written to the snapshot (it is also written on shutdown). */
+        private Duration interval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Warmup {
+        /** City names or OpenWeatherMap city IDs loaded into weatherSummary at startup. */
+        private List<String> cities = new ArrayList<>();
+
+        /** Optional file with one city name or ID per line; blank lines and lines starting with # are skipped. */
+        private String file;
+
+        /** Cities fetched concurrently; the upstream quota still paces the calls themselves. */
+        private int parallelism = 4;
+
+        /** Longest the readiness probe waits for warm-up; loads still running afterwards continue. */
+        private Duration timeout = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Cluster {
+        /** Split cities across instances: each is fetched and cached by the node that owns it on the hash ring. */
+        private boolean enabled = false;
+
+        /** This node's base URL exactly as it appears in the other nodes' peer lists, e.g. http://10.0.0.5:8080. */
+        private String self;
+
+        /** Base URLs of the other nodes; listing this node too is harmless. */
+        private List<String> peers = new ArrayList<>();
+
+        /** Ring points per node; more points spread cities more evenly. */
+        private int virtualNodes = 160;
+
+        /** Bounds connecting to and waiting for an owner before fetching upstream locally instead. */
+        private Duration peerTimeout = Duration.ofSeconds(2);
+
+        /** How long a non-owner keeps a summary fetched from its owner. */
+        private Duration nearCacheTimeToLive = Duration.ofSeconds(30);
+
+        private long nearCacheMaximumSize = 1_000;
+    }
+
+    @Data
+    public static class Stream {
+        /** How often each city's poller reads the cached summary; a changed summary is pushed to its subscribers. */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /** Open {@code GET /weather/stream} connections this node accepts; more get a 503. */
+        private int maxSubscribers = 1_000;
+
+        /** Interval of SSE comments that keep idle connections open through proxies. */
+        private Duration heartbeat = Duration.ofSeconds(15);
+    }
+
+    @Data
+    public static class Diagnostics {
+        /** Requests at least this slow are listed by {@code GET /diagnostics/slow-requests}. */
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        /** Slow requests kept; the oldest are dropped first. */
+        private int maxSlowRequests = 100;
+
+        /** Phase events kept to match against slow requests; about one second of traffic at 2k requests/s. */
+        private int maxPhases = 10_000;
+
+        /** Capturing stops when the endpoint has not been read for this long. */
+        private Duration idleTimeout = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Response {
+        /** Keep the encoded JSON of GET /weather and /weather/daily with the cache entry and write it as-is. */
+        private boolean preSerialized = true;
+
+        /** Also keep a gzip form of bodies at least {@code gzip-min-size}, for clients that accept it. */
+        private boolean gzip = true;
+
+        private DataSize gzipMinSize = DataSize.ofBytes(512);
+    }
+
+    @Data
+    public static class History {
+        /** Cities whose forecast points are kept; least valuable cities are evicted beyond this. */
+        private long maxCities = 10_000;
+
+        /** Ring capacity per city; 128 three-hour points cover the 7 day window plus the 5 day forecast. */
+        private int pointsPerCity = 128;
+
+        /** Longest window {@code GET /weather/history} accepts. */
+        private int maxDays = 7;
+    }
+
+    @Data
+    public static class Batch {
+        /** Maximum number of cache misses fetched concurrently for one batch request. */
+        private int parallelism = 8;
+
+        /** Maximum number of distinct cities accepted in one batch request. */
+        private int maxCities = 50;
+    }
+
+    @Data
+    public static class Upstream {
+        private String baseUrl = "https://api.openweathermap.org";
+
+        /** OpenWeatherMap API key sent as the appid query parameter. */
+        private String apiKey;
+
+        /** Maximum open connections to the upstream host. */
+        private int maxConnections = 100;
+
+        /** Requests allowed to wait for a pooled connection before failing fast. */
+        private int pendingAcquireMaxCount = 500;
+
+        /** How long a request may wait for a pooled connection. */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /** Idle connections are closed after this long. */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /** Connections are recycled after this long, even if busy in between. */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /** Interval of the background sweep that evicts idle and expired connections. */
+        private Duration evictInBackground = Duration.ofSeconds(30);
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /** Maximum wait for the response headers and between reads of the body. */
+        private Duration responseTimeout = Duration.ofSeconds(5);
+
+        private boolean keepAlive = true;
+
+        /** Send Accept-Encoding: gzip and decompress responses. */
+        private boolean compression = true;
+
+        /** HTTP versions to offer; H2 is negotiated via ALPN over TLS, H2C is cleartext HTTP/2. */
+        private List<HttpProtocol> protocols = new ArrayList<>(List.of(HttpProtocol.HTTP11));
+
+        /** Largest upstream response body buffered in memory. */
+        private DataSize maxInMemorySize = DataSize.ofMegabytes(1);
+
+        private final Quota quota = new Quota();
+        private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    }
+
+    @Data
+    public static class Quota {
+        /** Sustained upstream call rate allowed by the OpenWeatherMap plan. */
+        private int callsPerMinute = 60;
+
+        /** Calls that may go out back to back after an idle period. */
+        private int burst = 10;
+
+        /** Calls that may wait for a token before new ones are rejected with 429. */
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        /** Failure percentage over the sliding window that opens the breaker. */
+        private int failureRateThreshold = 50;
+
+        /** Number of most recent calls the failure rate is computed over. */
+        private int slidingWindowSize = 20;
+
+        /** Calls that must be recorded before the failure rate is evaluated. */
+        private int minimumCalls = 10;
+
+        /** How long the breaker stays open before letting trial calls through. */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** Trial calls that must all succeed to close the breaker again. */
+        private int halfOpenCalls = 3;
+    }
+
+    @Data
+    public static class ConcurrencyLimit {
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+
+        /** Responses slower than this shrink the limit; faster ones grow it. */
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+
+        /** Multiplier applied to the limit on a slow response, failure or timeout. */
+        private double backoffRatio = 0.9;
+    }
+}
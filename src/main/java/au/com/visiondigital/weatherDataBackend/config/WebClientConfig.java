@@ -1,15 +1,83 @@
 package au.com.visiondigital.weatherDataBackend.config;
 
+import au.com.visiondigital.weatherDataBackend.client.AdaptiveConcurrencyLimiter;
+import au.com.visiondigital.weatherDataBackend.client.CircuitBreaker;
+import au.com.visiondigital.weatherDataBackend.client.QuotaScheduler;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamGuard;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamPoolMetrics;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 
 @Configuration
+@Slf4j
 public class WebClientConfig {
 
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.baseUrl("https://api.openweathermap.org").build();
+    public UpstreamPoolMetrics upstreamPoolMetrics() {
+        return new UpstreamPoolMetrics();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(WeatherProperties properties, UpstreamPoolMetrics poolMetrics) {
+        WeatherProperties.Upstream upstream = properties.getUpstream();
+        return ConnectionProvider.builder("openweathermap")
+                .maxConnections(upstream.getMaxConnections())
+                .pendingAcquireMaxCount(upstream.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(upstream.getPendingAcquireTimeout())
+                .maxIdleTime(upstream.getMaxIdleTime())
+                .maxLifeTime(upstream.getMaxLifeTime())
+                .evictInBackground(upstream.getEvictInBackground())
+                .metrics(true, () -> poolMetrics)
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public QuotaScheduler upstreamQuotaScheduler(WeatherProperties properties) {
+        WeatherProperties.Quota quota = properties.getUpstream().getQuota();
+        return new QuotaScheduler(quota.getCallsPerMinute(), quota.getBurst(), quota.getQueueCapacity());
+    }
+
+    @Bean
+    public UpstreamGuard upstreamGuard(WeatherProperties properties) {
+        WeatherProperties.CircuitBreaker breaker = properties.getUpstream().getCircuitBreaker();
+        WeatherProperties.ConcurrencyLimit limit = properties.getUpstream().getConcurrencyLimit();
+        return new UpstreamGuard(
+                new CircuitBreaker(breaker.getFailureRateThreshold(), breaker.getSlidingWindowSize(),
+                        breaker.getMinimumCalls(), breaker.getOpenDuration(), breaker.getHalfOpenCalls()),
+                new AdaptiveConcurrencyLimiter(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                        limit.getLatencyThreshold(), limit.getBackoffRatio()));
+    }
+
+    @Bean
+    public WebClient webClient(WebClient.Builder builder, WeatherProperties properties,
+                               ConnectionProvider upstreamConnectionProvider) {
+        WeatherProperties.Upstream upstream = properties.getUpstream();
+        if (!StringUtils.hasText(upstream.getApiKey())) {
+            log.warn("weather.upstream.api-key is empty; set OPENWEATHERMAP_API_KEY or every upstream call "
+                    + "will be rejected with 401");
+        }
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) upstream.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, upstream.isKeepAlive())
+                .keepAlive(upstream.isKeepAlive())
+                // bounds the wait for response headers and every gap between body reads
+                .responseTimeout(upstream.getResponseTimeout())
+                .compress(upstream.isCompression())
+                .protocol(upstream.getProtocols().toArray(HttpProtocol[]::new));
+
+        return builder
+                .baseUrl(upstream.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) upstream.getMaxInMemorySize().toBytes()))
+                .build();
     }
 }
@@ -0,0 +1,65 @@
+package au.com.visiondigital.weatherDataBackend.controller;
+
+import au.com.visiondigital.weatherDataBackend.dto.CacheStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.ClusterStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.LoadStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.RefreshStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.StreamStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureStoreStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.WarmupStatistics;
+import au.com.visiondigital.weatherDataBackend.service.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    public CacheController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatistics>> getStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+
+    @GetMapping("/loads")
+    public ResponseEntity<List<LoadStatistics>> getLoadStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getLoadStatistics());
+    }
+
+    @GetMapping("/refresh")
+    public ResponseEntity<List<RefreshStatistics>> getRefreshStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRefreshStatistics());
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<TemperatureStoreStatistics> getHistoryStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getHistoryStatistics());
+    }
+
+    @GetMapping("/warmup")
+    public ResponseEntity<WarmupStatistics> getWarmupStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getWarmupStatistics());
+    }
+
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterStatistics> getClusterStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getClusterStatistics());
+    }
+
+    @GetMapping("/streams")
+    public ResponseEntity<StreamStatistics> getStreamStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStreamStatistics());
+    }
+}
@@ -0,0 +1,36 @@
+package au.com.visiondigital.weatherDataBackend.controller;
+
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.dto.PeerWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+
+/** Node-to-node endpoint of cluster mode; clients use {@code /weather}. */
+@RestController
+public class ClusterController {
+
+    private final WeatherService weatherService;
+
+    @Autowired
+    public ClusterController(WeatherService weatherService) {
+        this.weatherService = weatherService;
+    }
+
+    @GetMapping(PeerClient.PEER_WEATHER_PATH)
+    public Mono<ResponseEntity<PeerWeather>> getPeerWeather(@RequestParam String city) {
+        return weatherService.getPeerWeather(city).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(PeerClient.PEER_HISTORY_PATH)
+    public ResponseEntity<TemperatureHistory> getPeerTemperatureHistory(@RequestParam String city,
+                                                                        @RequestParam int days) {
+        return ResponseEntity.of(weatherService.getLocalTemperatureHistory(city, days));
+    }
+}
@@ -0,0 +1,27 @@
+package au.com.visiondigital.weatherDataBackend.controller;
+
+import au.com.visiondigital.weatherDataBackend.dto.SlowRequestReport;
+import au.com.visiondigital.weatherDataBackend.service.DiagnosticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@RestController
+@RequestMapping("/diagnostics")
+public class DiagnosticsController {
+
+    private final DiagnosticsService diagnosticsService;
+
+    @Autowired
+    public DiagnosticsController(DiagnosticsService diagnosticsService) {
+        this.diagnosticsService = diagnosticsService;
+    }
+
+    @GetMapping("/slow-requests")
+    public ResponseEntity<SlowRequestReport> getSlowRequests() {
+        return ResponseEntity.ok(diagnosticsService.getSlowRequests());
+    }
+}
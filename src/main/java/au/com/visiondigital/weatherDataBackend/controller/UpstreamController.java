@@ -0,0 +1,41 @@
+package au.com.visiondigital.weatherDataBackend.controller;
+
+import au.com.visiondigital.weatherDataBackend.dto.ConnectionPoolStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.QuotaStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.UpstreamResilienceStatistics;
+import au.com.visiondigital.weatherDataBackend.service.UpstreamStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+
+@RestController
+@RequestMapping("/upstream")
+public class UpstreamController {
+
+    private final UpstreamStatisticsService upstreamStatisticsService;
+
+    @Autowired
+    public UpstreamController(UpstreamStatisticsService upstreamStatisticsService) {
+        this.upstreamStatisticsService = upstreamStatisticsService;
+    }
+
+    @GetMapping("/pool")
+    public ResponseEntity<List<ConnectionPoolStatistics>> getConnectionPoolStatistics() {
+        return ResponseEntity.ok(upstreamStatisticsService.getConnectionPoolStatistics());
+    }
+
+    @GetMapping("/resilience")
+    public ResponseEntity<UpstreamResilienceStatistics> getResilienceStatistics() {
+        return ResponseEntity.ok(upstreamStatisticsService.getResilienceStatistics());
+    }
+
+    @GetMapping("/quota")
+    public ResponseEntity<QuotaStatistics> getQuotaStatistics() {
+        return ResponseEntity.ok(upstreamStatisticsService.getQuotaStatistics());
+    }
+}
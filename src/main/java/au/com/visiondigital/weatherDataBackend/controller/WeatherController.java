@@ -1,10 +1,29 @@
 package au.com.visiondigital.weatherDataBackend.controller;
 
+import au.com.visiondigital.weatherDataBackend.diagnostics.RequestTrace;
+import au.com.visiondigital.weatherDataBackend.dto.BatchWeatherRequest;
+import au.com.visiondigital.weatherDataBackend.dto.BatchWeatherResult;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.dto.Versioned;
 import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.EncodedBody;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
+import au.com.visiondigital.weatherDataBackend.service.BatchWeatherService;
 import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import au.com.visiondigital.weatherDataBackend.service.WeatherStreamService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 
 @RestController
@@ -13,17 +32,96 @@ import org.springframework.web.bind.annotation.*;
 public class WeatherController {
 
     private final WeatherService weatherService;
+    private final BatchWeatherService batchWeatherService;
+    private final WeatherStreamService weatherStreamService;
 
     @Autowired
-    public WeatherController(WeatherService weatherService) {
+    public WeatherController(WeatherService weatherService, BatchWeatherService batchWeatherService,
+                             WeatherStreamService weatherStreamService) {
         this.weatherService = weatherService;
+        this.batchWeatherService = batchWeatherService;
+        this.weatherStreamService = weatherStreamService;
     }
 
     @GetMapping
-    public ResponseEntity<WeatherData> getWeatherSummary(@RequestParam String city) {
+    public Mono<ResponseEntity<Object>> getWeatherSummary(@RequestParam String city,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        return RequestTrace.whenReady(weatherService.getVersionedWeatherSummary(city, format)
+                .map(summary -> conditional(summary, format, acceptEncoding)));
+
+    }
+
+    @GetMapping("/daily")
+    public Mono<ResponseEntity<Object>> getWeatherBreakdown(@RequestParam String city,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        return RequestTrace.whenReady(weatherService.getVersionedWeatherBreakdown(city, format)
+                .map(breakdown -> conditional(breakdown, format, acceptEncoding)));
+
+    }
+
+    @GetMapping("/history")
+    public Mono<ResponseEntity<TemperatureHistory>> getTemperatureHistory(@RequestParam String city,
+                                                                          @RequestParam(defaultValue = "7") int days) {
+
+        return RequestTrace.whenReady(weatherService.getTemperatureHistory(city, days)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build()));
+
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<WeatherData>> streamWeatherSummary(@RequestParam String city) {
+
+        return weatherStreamService.subscribe(city);
+
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<BatchWeatherResult>>> getWeatherSummaries(@Valid @RequestBody BatchWeatherRequest request) {
 
-        WeatherData summary = weatherService.getWeatherSummary(city);
-        return ResponseEntity.ok(summary);
+        return batchWeatherService.getWeatherSummaries(request.getCities())
+                .map(ResponseEntity::ok);
+
+    }
+
+    /**
+     * Spring compares the ETag and Last-Modified headers against If-None-Match and
+     * If-Modified-Since and answers a match with a 304, without writing the body.
+     * Otherwise a pre-encoded body goes out as raw bytes, skipping Jackson; without one
+     * the message converter for {@code format} writes the value.
+     */
+    private static ResponseEntity<Object> conditional(Versioned<?> versioned, ResponseFormat format,
+                                                      String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(versioned.getLastModifiedMillis())
+                .cacheControl(CacheControl.maxAge(versioned.getMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic());
+        EncodedBody encoded = versioned.getEncoded();
+        if (encoded == null) return response.eTag(versioned.getETag()).body(versioned.getValue());
+
+        if (encoded.gzip() == null) return response.eTag(versioned.getETag()).body(encoded.body());
+        response.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) return response.eTag(versioned.getETag()).body(encoded.body());
+        // a different encoding is a different representation, so it needs its own strong ETag
+        return response.eTag(versioned.getETag() + "-gzip")
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(encoded.gzip());
+    }
 
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) continue;
+            return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
     }
 }
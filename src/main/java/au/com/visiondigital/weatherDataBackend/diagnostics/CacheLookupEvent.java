@@ -0,0 +1,24 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+@Name(CacheLookupEvent.NAME)
+@Label("Cache Lookup")
+@Description("Looking a city up in weatherSummary, the near cache and the not-found cache")
+public class CacheLookupEvent extends WeatherEvent {
+
+    public static final String NAME = "weather.CacheLookup";
+
+    @Label("Source")
+    String source;
+
+    /** @param outcome {@code hit}, {@code miss} or {@code not_found} */
+    public void commit(String city, String source, String outcome) {
+        if (!endAndFill(city, outcome)) return;
+        this.source = source;
+        commit();
+    }
+}
@@ -0,0 +1,24 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+@Name(ForecastParseEvent.NAME)
+@Label("Forecast Parse")
+@Description("Parsing an OpenWeatherMap forecast into a summary and daily breakdown")
+public class ForecastParseEvent extends WeatherEvent {
+
+    public static final String NAME = "weather.ForecastParse";
+
+    @Label("Response Length")
+    @Description("Characters in the parsed response")
+    int responseLength;
+
+    public void commit(String city, String outcome, int responseLength) {
+        if (!endAndFill(city, outcome)) return;
+        this.responseLength = responseLength;
+        commit();
+    }
+}
@@ -0,0 +1,27 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+@Name(RequestEvent.NAME)
+@Label("Weather Request")
+@Description("A /weather request from the handler being called until the response is written")
+public class RequestEvent extends WeatherEvent {
+
+    public static final String NAME = "weather.Request";
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    void commit(String city, String outcome, String path, int status) {
+        if (!endAndFill(city, outcome)) return;
+        this.path = path;
+        this.status = status;
+        commit();
+    }
+}
@@ -0,0 +1,36 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+
+/**
+ * Records a {@link RequestEvent} per request, and the {@link ThreadHandoffEvent} and
+ * {@link ResponseWriteEvent} around its async dispatch. A reactive handler returns on
+ * the first dispatch; its result is written on a second, {@code ASYNC} dispatch, which
+ * is where the handoff ends and the write begins. Does nothing unless a JFR recording
+ * has {@link RequestEvent} enabled.
+ */
+public class RequestEventInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            if (request.getAttribute(RequestTrace.ATTRIBUTE) instanceof RequestTrace trace) trace.resumed();
+        } else if (request.getDispatcherType() == DispatcherType.REQUEST && RequestTrace.recording()) {
+            request.setAttribute(RequestTrace.ATTRIBUTE, new RequestTrace(request.getParameter("city")));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(RequestTrace.ATTRIBUTE) instanceof RequestTrace trace) {
+            request.removeAttribute(RequestTrace.ATTRIBUTE);
+            trace.completed(request.getRequestURI(), response.getStatus(), ex);
+        }
+    }
+}
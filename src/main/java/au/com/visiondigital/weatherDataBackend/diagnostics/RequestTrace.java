@@ -0,0 +1,78 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * The JFR events of one request, kept as a request attribute by {@link RequestEventInterceptor}
+ * while a recording has {@link RequestEvent} enabled. The request may be resumed on a different
+ * container thread than it started on, so the fields are volatile.
+ */
+public final class RequestTrace {
+
+    static final String ATTRIBUTE = RequestTrace.class.getName();
+
+    private final RequestEvent request = new RequestEvent();
+    private final String city;
+    private volatile ThreadHandoffEvent handoff;
+    private volatile String readyThread;
+    private volatile ResponseWriteEvent write;
+
+    RequestTrace(String city) {
+        this.city = city;
+        request.begin();
+    }
+
+    /** A request trace can only start where a recording has requests enabled. */
+    static boolean recording() {
+        return new RequestEvent().isEnabled();
+    }
+
+    /**
+     * Marks when {@code result} emits, on whichever thread that is, as the start of the
+     * handoff back to the container. Called on the request thread; {@code result} is
+     * returned as is unless the current request is being traced.
+     */
+    public static <T> Mono<T> whenReady(Mono<T> result) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null
+                || !(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestTrace trace)) {
+            return result;
+        }
+        return result.doOnNext(value -> trace.ready());
+    }
+
+    private void ready() {
+        ThreadHandoffEvent event = new ThreadHandoffEvent();
+        event.begin();
+        readyThread = Thread.currentThread().getName();
+        handoff = event;
+    }
+
+    /** The request was dispatched again to write its result. */
+    void resumed() {
+        ThreadHandoffEvent event = handoff;
+        if (event != null) event.commit(city, readyThread);
+        ResponseWriteEvent writeEvent = new ResponseWriteEvent();
+        writeEvent.begin();
+        write = writeEvent;
+    }
+
+    void completed(String path, int status, Exception failure) {
+        String outcome = failure != null ? "error" : outcome(status);
+        ResponseWriteEvent writeEvent = write;
+        if (writeEvent != null) writeEvent.commit(city, outcome, status);
+        request.commit(city, outcome, path, status);
+    }
+
+    static String outcome(int status) {
+        if (status == 304) return "not_modified";
+        if (status < 400) return "success";
+        if (status == 404) return "not_found";
+        if (status == 429) return "quota_exceeded";
+        if (status == 503) return "unavailable";
+        return "error";
+    }
+}
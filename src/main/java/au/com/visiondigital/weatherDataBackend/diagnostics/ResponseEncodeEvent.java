@@ -0,0 +1,29 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+@Name(ResponseEncodeEvent.NAME)
+@Label("Response Encode")
+@Description("Serializing a cached summary or breakdown into a response body, once per entry and format")
+public class ResponseEncodeEvent extends WeatherEvent {
+
+    public static final String NAME = "weather.ResponseEncode";
+
+    @Label("Format")
+    String format;
+
+    @Label("Size")
+    @DataAmount
+    int bytes;
+
+    public void commit(String city, String outcome, String format, int bytes) {
+        if (!endAndFill(city, outcome)) return;
+        this.format = format;
+        this.bytes = bytes;
+        commit();
+    }
+}
@@ -0,0 +1,23 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+@Name(ResponseWriteEvent.NAME)
+@Label("Response Write")
+@Description("Message converter serialization and writing of the response, after the request resumed")
+public class ResponseWriteEvent extends WeatherEvent {
+
+    public static final String NAME = "weather.ResponseWrite";
+
+    @Label("Status")
+    int status;
+
+    void commit(String city, String outcome, int status) {
+        if (!endAndFill(city, outcome)) return;
+        this.status = status;
+        commit();
+    }
+}
@@ -0,0 +1,28 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * From the result being ready, usually on a Reactor Netty or refresh thread, until a
+ * servlet container thread picks the request up again to write the response. The event
+ * thread is the one that resumed it.
+ */
+@Name(ThreadHandoffEvent.NAME)
+@Label("Thread Handoff")
+@Description("Wait between a weather result being ready and a container thread resuming the request")
+public class ThreadHandoffEvent extends WeatherEvent {
+
+    public static final String NAME = "weather.ThreadHandoff";
+
+    @Label("From Thread")
+    String fromThread;
+
+    void commit(String city, String fromThread) {
+        if (!endAndFill(city, "resumed")) return;
+        this.fromThread = fromThread;
+        commit();
+    }
+}
@@ -0,0 +1,40 @@
+package au.com.visiondigital.weatherDataBackend.diagnostics;
+
+import au.com.visiondigital.weatherDataBackend.metrics.WeatherMetrics;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import reactor.core.publisher.Mono;
+
+
+@Name(UpstreamFetchEvent.NAME)
+@Label("Upstream Fetch")
+@Description("OpenWeatherMap forecast call on the network, excluding the quota wait")
+public class UpstreamFetchEvent extends WeatherEvent {
+
+    public static final String NAME = "weather.UpstreamFetch";
+
+    @Label("Response Length")
+    @Description("Characters in the response body")
+    int responseLength;
+
+    /** Times {@code fetch} from subscription to its result; {@code fetch} is returned as is when disabled. */
+    public static Mono<String> timed(String city, Mono<String> fetch) {
+        return Mono.defer(() -> {
+            UpstreamFetchEvent event = new UpstreamFetchEvent();
+            if (!event.isEnabled()) return fetch;
+            event.begin();
+            return fetch
+                    .doOnSuccess(body -> event.commit(city, body == null ? "empty" : "success",
+                            body == null ? 0 : body.length()))
+                    .doOnError(e -> event.commit(city, WeatherMetrics.outcome(e), 0))
+                    .doOnCancel(() -> event.commit(city, "cancelled", 0));
+        });
+    }
+
+    private void commit(String city, String outcome, int responseLength) {
+        if (!endAndFill(city, outcome)) return;
+        this.responseLength = responseLength;
+        commit();
+    }
+}
@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchWeatherRequest {
+
+    @NotEmpty
+    private List<@NotBlank String> cities;
+}
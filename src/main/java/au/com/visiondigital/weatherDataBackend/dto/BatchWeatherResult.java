@@ -0,0 +1,27 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchWeatherResult {
+
+    private String city;
+    private int status;
+    private WeatherData data;
+    private String error;
+
+    public static BatchWeatherResult success(String city, WeatherData data) {
+        return new BatchWeatherResult(city, 200, data, null);
+    }
+
+    public static BatchWeatherResult failure(String city, int status, String error) {
+        return new BatchWeatherResult(city, status, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class CacheStatistics {
+
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private double averageLoadPenaltyMillis;
+}
@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+public class ClusterStatistics {
+
+    private boolean enabled;
+    private String self;
+    private List<String> nodes;
+    private int virtualNodes;
+    /** Requests to owner nodes; failures include unknown cities, other failures fell back to a local fetch. */
+    private LoadStatistics peerFetches;
+}
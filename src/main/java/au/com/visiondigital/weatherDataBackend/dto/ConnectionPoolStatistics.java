@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class ConnectionPoolStatistics {
+
+    private String name;
+    private String remoteAddress;
+    private int acquired;
+    private int idle;
+    private int allocated;
+    private int maxAllocated;
+    private int pendingAcquire;
+    private int maxPendingAcquire;
+}
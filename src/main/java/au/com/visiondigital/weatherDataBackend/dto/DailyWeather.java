@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyWeather {
+
+    private String date;
+    private double minTemperature;
+    private double maxTemperature;
+    private double meanTemperature;
+    /** Number of 3-hour forecast entries that fell on this day. */
+    private int count;
+}
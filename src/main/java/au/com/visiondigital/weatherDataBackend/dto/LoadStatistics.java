@@ -0,0 +1,20 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class LoadStatistics {
+
+    private String name;
+    private int inFlight;
+    private long loadCount;
+    private long loadFailureCount;
+    /** Callers that joined an in-flight load instead of starting their own. */
+    private long absorbedCallers;
+    private long maxAbsorbedPerLoad;
+    private double averageAbsorbedPerLoad;
+    private double averageLoadMillis;
+}
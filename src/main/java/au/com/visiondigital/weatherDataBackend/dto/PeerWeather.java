@@ -0,0 +1,17 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/** A cached forecast as one cluster node hands it to another. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeerWeather {
+
+    /** When the owner fetched it from OpenWeatherMap; the copy expires with the original. */
+    private long fetchedAtMillis;
+    private WeatherBreakdown breakdown;
+}
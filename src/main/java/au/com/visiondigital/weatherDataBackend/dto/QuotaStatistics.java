@@ -0,0 +1,20 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class QuotaStatistics {
+
+    private int callsPerMinute;
+    private int burst;
+    private int availableTokens;
+    private int queuedForeground;
+    private int queuedBackground;
+    private int queueCapacity;
+    private long admittedCalls;
+    private long queuedCalls;
+    private long rejectedCalls;
+}
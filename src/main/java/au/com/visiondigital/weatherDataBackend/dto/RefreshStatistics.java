@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class RefreshStatistics {
+
+    private String name;
+    private int queued;
+    private int active;
+    private long scheduledCount;
+    private long successCount;
+    private long failureCount;
+    /** Refreshes skipped because the queue was full; those entries expire at the hard TTL. */
+    private long droppedCount;
+}
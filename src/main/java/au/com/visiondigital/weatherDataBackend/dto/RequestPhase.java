@@ -0,0 +1,20 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class RequestPhase {
+
+    /** JFR event name, e.g. {@code weather.UpstreamFetch}. */
+    private String phase;
+    private String outcome;
+    /** Phase specific: the cache source, response size, format or handoff thread. */
+    private String detail;
+    private String thread;
+    /** Start relative to the request; negative for a fetch another request had already started. */
+    private double offsetMillis;
+    private double durationMillis;
+}
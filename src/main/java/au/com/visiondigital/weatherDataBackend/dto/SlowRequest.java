@@ -0,0 +1,21 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+public class SlowRequest {
+
+    private String city;
+    private String path;
+    private int status;
+    private String outcome;
+    private String startTime;
+    private double durationMillis;
+    /** Phase events for the same city that overlapped the request, in start order. */
+    private List<RequestPhase> phases;
+}
@@ -0,0 +1,18 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+public class SlowRequestReport {
+
+    /** When the current capture started; requests before then were not recorded. */
+    private String capturingSince;
+    private long thresholdMillis;
+    /** Newest first. */
+    private List<SlowRequest> requests;
+}
@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class StreamStatistics {
+
+    private int subscribers;
+    private int maxSubscribers;
+    /** Cities with a running poller; one per city however many subscribers it has. */
+    private int cities;
+    /** Changed summaries published to subscribers, counted once per city. */
+    private long updates;
+    /** Subscriptions refused because the node was at its subscriber cap. */
+    private long rejected;
+}
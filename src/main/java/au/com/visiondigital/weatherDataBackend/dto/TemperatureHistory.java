@@ -0,0 +1,22 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/** Rolling-window aggregate over the stored forecast points of a city; days are UTC dates. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TemperatureHistory {
+
+    private String city;
+    private int days;
+    private String from;
+    private String to;
+    private int points;
+    private double averageTemperature;
+    private String hottestDay;
+    private String coldestDay;
+}
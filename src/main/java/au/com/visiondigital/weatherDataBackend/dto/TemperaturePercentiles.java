@@ -0,0 +1,18 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TemperaturePercentiles {
+
+    private double p10;
+    private double p25;
+    private double p50;
+    private double p75;
+    private double p90;
+}
@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class TemperatureStoreStatistics {
+
+    private long cities;
+    private long maxCities;
+    private long points;
+    private int pointsPerCity;
+    /** Column bytes reserved per city; fixed once the city is first seen. */
+    private long bytesPerCity;
+    private long estimatedBytes;
+    private long ingestedPoints;
+}
@@ -0,0 +1,17 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+@Data
+@AllArgsConstructor
+public class UpstreamResilienceStatistics {
+
+    private String circuitBreakerState;
+    private double failureRate;
+    private long circuitBreakerRejectedCalls;
+    private int concurrencyLimit;
+    private int inFlight;
+    private long concurrencyLimitRejectedCalls;
+}
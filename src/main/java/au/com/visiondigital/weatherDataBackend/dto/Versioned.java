@@ -0,0 +1,24 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import au.com.visiondigital.weatherDataBackend.encoding.EncodedBody;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+/**
+ * A response body with the HTTP validators of the cache entry it was read from, and
+ * its pre-encoded form when {@code weather.response.pre-serialized} is on.
+ */
+@Data
+@AllArgsConstructor
+public class Versioned<T> {
+
+    private T value;
+    /** Unquoted entity tag; stable for as long as the entry is cached, including across restarts. */
+    private String eTag;
+    private long lastModifiedMillis;
+    /** Seconds until the entry expires from the cache; 0 for a last known summary served past it. */
+    private long maxAgeSeconds;
+    /** The value already encoded, or null to have it serialized per request. */
+    private EncodedBody encoded;
+}
@@ -0,0 +1,26 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+
+@Data
+@AllArgsConstructor
+public class WarmupStatistics {
+
+    /** NOT_CONFIGURED, RUNNING or COMPLETED. */
+    private String state;
+    private int cities;
+    private int loaded;
+    /** Cities skipped because they were already cached, e.g. restored from the snapshot, or owned by another cluster node. */
+    private int alreadyCached;
+    private int failed;
+    /** Failure message per city. */
+    private Map<String, String> failures;
+    /** Time spent so far while running, total time once completed. */
+    private long durationMillis;
+    /** Whether readiness was released by the timeout rather than by completion. */
+    private boolean timedOut;
+}
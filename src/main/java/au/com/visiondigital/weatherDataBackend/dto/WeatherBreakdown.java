@@ -0,0 +1,21 @@
+package au.com.visiondigital.weatherDataBackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WeatherBreakdown {
+
+    private WeatherData summary;
+    private List<DailyWeather> days;
+    /** Percentiles over every forecast entry; absent when the forecast is empty. */
+    private TemperaturePercentiles percentiles;
+}
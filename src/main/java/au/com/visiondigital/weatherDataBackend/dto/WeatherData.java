@@ -2,12 +2,14 @@ package au.com.visiondigital.weatherDataBackend.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 @ToString
 public class WeatherData {
 
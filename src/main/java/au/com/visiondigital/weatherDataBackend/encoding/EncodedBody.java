@@ -0,0 +1,12 @@
+package au.com.visiondigital.weatherDataBackend.encoding;
+
+
+/**
+ * A response body encoded once and written as-is on every later read. The arrays
+ * are shared between requests and must not be modified.
+ *
+ * @param body the encoding in one {@link ResponseFormat}
+ * @param gzip the gzipped body, or null when the body is below the gzip threshold
+ */
+public record EncodedBody(byte[] body, byte[] gzip) {
+}
@@ -0,0 +1,65 @@
+package au.com.visiondigital.weatherDataBackend.encoding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Encodes response bodies with the application ObjectMapper, or a copy of it on the
+ * CBOR or Smile factory, so the bytes match what the Jackson message converters would
+ * have written. Bodies of at least {@code gzipMinSize} bytes are also gzipped; smaller
+ * bodies do not shrink enough to be worth it.
+ */
+public class ResponseEncoder {
+
+    private final Map<ResponseFormat, ObjectMapper> objectMappers = new EnumMap<>(ResponseFormat.class);
+    private final int gzipMinSize;
+
+    /** @param gzipMinSize smallest body, in bytes, that also gets a gzip form; negative to never gzip */
+    public ResponseEncoder(ObjectMapper objectMapper, int gzipMinSize) {
+        objectMappers.put(ResponseFormat.JSON, objectMapper);
+        objectMappers.put(ResponseFormat.CBOR, cbor(objectMapper));
+        objectMappers.put(ResponseFormat.SMILE, smile(objectMapper));
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    /** {@code objectMapper}'s configuration and modules, writing CBOR. */
+    public static ObjectMapper cbor(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new CBORFactory());
+    }
+
+    /** {@code objectMapper}'s configuration and modules, writing Smile. */
+    public static ObjectMapper smile(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new SmileFactory());
+    }
+
+    public EncodedBody encode(Object value, ResponseFormat format) {
+        byte[] body;
+        try {
+            body = objectMappers.get(format).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode " + value.getClass().getSimpleName(), e);
+        }
+        return new EncodedBody(body, gzipMinSize >= 0 && body.length >= gzipMinSize ? gzip(body) : null);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            // in-memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
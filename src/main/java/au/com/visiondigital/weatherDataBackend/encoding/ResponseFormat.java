@@ -0,0 +1,60 @@
+package au.com.visiondigital.weatherDataBackend.encoding;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+
+/** Body encodings of the weather endpoints, chosen by the request's {@code Accept} header. */
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "-smile");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    ResponseFormat(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /** Keeps the ETag distinct per format, as each is a different representation. */
+    public String eTagSuffix() {
+        return eTagSuffix;
+    }
+
+    /**
+     * The supported format with the highest quality in {@code accept}; on a tie the one
+     * listed first, and for wildcards JSON. JSON as well when the header is missing,
+     * malformed or names nothing supported, as before negotiation existed.
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) return JSON;
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        ResponseFormat best = JSON;
+        double bestQuality = 0;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            if (quality <= bestQuality) continue;
+            for (ResponseFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    best = format;
+                    bestQuality = quality;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -2,6 +2,10 @@ package au.com.visiondigital.weatherDataBackend.exeption;
 
 
 public class ExternalApiException extends RuntimeException {
+    public ExternalApiException(String message) {
+        super(message);
+    }
+
     public ExternalApiException(String message, Throwable cause) {
         super(message, cause);
     }
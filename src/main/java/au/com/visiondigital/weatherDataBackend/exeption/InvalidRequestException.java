@@ -0,0 +1,8 @@
+package au.com.visiondigital.weatherDataBackend.exeption;
+
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package au.com.visiondigital.weatherDataBackend.exeption;
+
+
+/**
+ * The upstream call queue is full. It extends {@link UpstreamUnavailableException}, so
+ * callers fall back to the last known summary the same way as when the breaker is open.
+ */
+public class QuotaExceededException extends UpstreamUnavailableException {
+    private final long retryAfterSeconds;
+
+    public QuotaExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package au.com.visiondigital.weatherDataBackend.exeption;
+
+
+/** This node already holds {@code weather.stream.max-subscribers} open weather streams. */
+public class SubscriberLimitException extends RuntimeException {
+    public SubscriberLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package au.com.visiondigital.weatherDataBackend.exeption;
+
+
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,117 @@
+package au.com.visiondigital.weatherDataBackend.metrics;
+
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import au.com.visiondigital.weatherDataBackend.exeption.ExternalApiException;
+import au.com.visiondigital.weatherDataBackend.exeption.QuotaExceededException;
+import au.com.visiondigital.weatherDataBackend.exeption.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Timers for the weather pipeline. Each publishes a percentile histogram and is
+ * tagged with an {@code outcome}, so latency quantiles can be aggregated per outcome
+ * across instances in Prometheus.
+ * <ul>
+ *   <li>{@value #UPSTREAM_FETCH}: the OpenWeatherMap call, excluding the quota wait</li>
+ *   <li>{@value #PARSE}: parsing a forecast response into a summary</li>
+ *   <li>{@value #SUMMARY}: a whole summary request, additionally tagged with the
+ *       {@code source} that served it ({@code cache}, {@code not_found_cache}
+ *       or {@code upstream})</li>
+ * </ul>
+ */
+public class WeatherMetrics {
+
+    public static final String UPSTREAM_FETCH = "weather.upstream.fetch";
+    public static final String PARSE = "weather.parse";
+    public static final String SUMMARY = "weather.summary";
+    public static final String LAST_KNOWN_FALLBACK = "weather.summary.last.known";
+
+    private final Meter.MeterProvider<Timer> fetchTimer;
+    private final Meter.MeterProvider<Timer> parseTimer;
+    private final Meter.MeterProvider<Timer> summaryTimer;
+    private final Meter.MeterProvider<Counter> lastKnownFallbacks;
+
+    public WeatherMetrics(MeterRegistry registry) {
+        this.fetchTimer = Timer.builder(UPSTREAM_FETCH)
+                .description("OpenWeatherMap forecast call, excluding time spent waiting for quota")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.parseTimer = Timer.builder(PARSE)
+                .description("Parsing an OpenWeatherMap forecast into a weather summary")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.summaryTimer = Timer.builder(SUMMARY)
+                .description("Weather summary request from lookup to response")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.lastKnownFallbacks = Counter.builder(LAST_KNOWN_FALLBACK)
+                .description("Requests that fell back to the last known summary while the upstream was unavailable")
+                .withRegistry(registry);
+    }
+
+    public <T> Mono<T> timeFetch(Mono<T> fetch) {
+        return time(fetch, fetchTimer, Tags.empty());
+    }
+
+    public <T> T timeParse(Supplier<T> parse) {
+        long start = System.nanoTime();
+        try {
+            T result = parse.get();
+            record(parseTimer, Tags.of("outcome", "success"), start);
+            return result;
+        } catch (RuntimeException e) {
+            record(parseTimer, Tags.of("outcome", outcome(e)), start);
+            throw e;
+        }
+    }
+
+    public <T> Mono<T> timeSummary(String source, Mono<T> summary) {
+        return time(summary, summaryTimer, Tags.of("source", source));
+    }
+
+    /** Records a summary answered synchronously from a cache, started at {@code startNanos}. */
+    public void recordSummary(String source, String outcome, long startNanos) {
+        record(summaryTimer, Tags.of("source", source, "outcome", outcome), startNanos);
+    }
+
+    public void recordLastKnownFallback(boolean found) {
+        lastKnownFallbacks.withTags("result", found ? "hit" : "miss").increment();
+    }
+
+    private static <T> Mono<T> time(Mono<T> mono, Meter.MeterProvider<Timer> timer, Tags tags) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono
+                    .doOnSuccess(value -> record(timer, tags.and("outcome", value == null ? "empty" : "success"), start))
+                    .doOnError(error -> record(timer, tags.and("outcome", outcome(error)), start))
+                    .doOnCancel(() -> record(timer, tags.and("outcome", "cancelled"), start));
+        });
+    }
+
+    private static void record(Meter.MeterProvider<Timer> timer, Tags tags, long startNanos) {
+        timer.withTags(tags).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static String outcome(Throwable error) {
+        Throwable cause = error instanceof ExternalApiException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof QuotaExceededException) return "quota_exceeded";
+        if (cause instanceof UpstreamUnavailableException) return "rejected";
+        if (cause instanceof CityNotFoundException) return "not_found";
+        if (cause instanceof WebClientResponseException response) {
+            if (response.getStatusCode().value() == 404) return "not_found";
+            return response.getStatusCode().is4xxClientError() ? "client_error" : "server_error";
+        }
+        if (cause instanceof WebClientRequestException) return "io_error";
+        return "error";
+    }
+}
@@ -0,0 +1,219 @@
+package au.com.visiondigital.weatherDataBackend.metrics;
+
+import au.com.visiondigital.weatherDataBackend.cache.CacheWarmer;
+import au.com.visiondigital.weatherDataBackend.cache.CachedWeather;
+import au.com.visiondigital.weatherDataBackend.cache.RefreshAheadExecutor;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.client.CircuitBreaker;
+import au.com.visiondigital.weatherDataBackend.client.QuotaScheduler;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamGuard;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.dto.LoadStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.QuotaStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.RefreshStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.StreamStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureStoreStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.UpstreamResilienceStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.WarmupStatistics;
+import au.com.visiondigital.weatherDataBackend.service.WeatherStreamService;
+import au.com.visiondigital.weatherDataBackend.timeseries.TemperatureStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+
+/**
+ * Publishes the counters behind {@code /cache/*} and {@code /upstream/*} as meters.
+ * Every gauge reads the live statistics when it is scraped, so nothing is added to
+ * the request path.
+ */
+public class WeatherPipelineMeterBinder implements MeterBinder {
+
+    private final SingleFlight<String, CachedWeather> weatherSummaryLoads;
+    private final RefreshAheadExecutor weatherSummaryRefresher;
+    private final QuotaScheduler upstreamQuotaScheduler;
+    private final UpstreamGuard upstreamGuard;
+    private final TemperatureStore temperatureStore;
+    private final CacheWarmer cacheWarmer;
+    private final PeerClient peerClient;
+    private final WeatherStreamService weatherStreamService;
+
+    public WeatherPipelineMeterBinder(SingleFlight<String, CachedWeather> weatherSummaryLoads,
+                                      RefreshAheadExecutor weatherSummaryRefresher,
+                                      QuotaScheduler upstreamQuotaScheduler,
+                                      UpstreamGuard upstreamGuard,
+                                      TemperatureStore temperatureStore,
+                                      CacheWarmer cacheWarmer,
+                                      PeerClient peerClient,
+                                      WeatherStreamService weatherStreamService) {
+        this.weatherSummaryLoads = weatherSummaryLoads;
+        this.weatherSummaryRefresher = weatherSummaryRefresher;
+        this.upstreamQuotaScheduler = upstreamQuotaScheduler;
+        this.upstreamGuard = upstreamGuard;
+        this.temperatureStore = temperatureStore;
+        this.cacheWarmer = cacheWarmer;
+        this.peerClient = peerClient;
+        this.weatherStreamService = weatherStreamService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindLoads(registry);
+        bindRefresh(registry);
+        bindQuota(registry);
+        bindResilience(registry);
+        bindHistory(registry);
+        bindWarmup(registry);
+        bindCluster(registry);
+        bindStreams(registry);
+    }
+
+    private void bindLoads(MeterRegistry registry) {
+        gauge(registry, "weather.loads.in.flight", "Upstream loads currently running",
+                this::loads, LoadStatistics::getInFlight);
+        counter(registry, "weather.loads", "Upstream loads started", this::loads, LoadStatistics::getLoadCount);
+        counter(registry, "weather.loads.failures", "Upstream loads that failed",
+                this::loads, LoadStatistics::getLoadFailureCount);
+        counter(registry, "weather.loads.absorbed", "Callers that shared an in-flight load instead of starting one",
+                this::loads, LoadStatistics::getAbsorbedCallers);
+    }
+
+    private void bindRefresh(MeterRegistry registry) {
+        gauge(registry, "weather.refresh.queued", "Background refreshes waiting for a thread",
+                this::refresh, RefreshStatistics::getQueued);
+        gauge(registry, "weather.refresh.active", "Background refreshes running",
+                this::refresh, RefreshStatistics::getActive);
+        counter(registry, "weather.refresh", "Background refreshes by result",
+                this::refresh, RefreshStatistics::getSuccessCount, "result", "success");
+        counter(registry, "weather.refresh", "Background refreshes by result",
+                this::refresh, RefreshStatistics::getFailureCount, "result", "failure");
+        counter(registry, "weather.refresh", "Background refreshes by result",
+                this::refresh, RefreshStatistics::getDroppedCount, "result", "dropped");
+    }
+
+    private void bindQuota(MeterRegistry registry) {
+        gauge(registry, "weather.upstream.quota.tokens", "Upstream calls that can start without waiting",
+                this::quota, QuotaStatistics::getAvailableTokens);
+        gauge(registry, "weather.upstream.quota.queued", "Upstream calls waiting for quota",
+                this::quota, QuotaStatistics::getQueuedForeground, "priority", "foreground");
+        gauge(registry, "weather.upstream.quota.queued", "Upstream calls waiting for quota",
+                this::quota, QuotaStatistics::getQueuedBackground, "priority", "background");
+        counter(registry, "weather.upstream.quota.rejected", "Upstream calls rejected because the quota queue was full",
+                this::quota, QuotaStatistics::getRejectedCalls);
+    }
+
+    private void bindResilience(MeterRegistry registry) {
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            gauge(registry, "weather.upstream.circuit.state", "1 for the current circuit breaker state, 0 otherwise",
+                    this::resilience, s -> s.getCircuitBreakerState().equals(state.name()) ? 1 : 0,
+                    "state", state.name().toLowerCase());
+        }
+        gauge(registry, "weather.upstream.circuit.failure.rate", "Failure rate over the circuit breaker window",
+                this::resilience, UpstreamResilienceStatistics::getFailureRate);
+        gauge(registry, "weather.upstream.concurrency.limit", "Current adaptive upstream concurrency limit",
+                this::resilience, UpstreamResilienceStatistics::getConcurrencyLimit);
+        gauge(registry, "weather.upstream.concurrency.in.flight", "Upstream calls holding a concurrency permit",
+                this::resilience, UpstreamResilienceStatistics::getInFlight);
+        counter(registry, "weather.upstream.rejected", "Upstream calls rejected before being sent",
+                this::resilience, UpstreamResilienceStatistics::getCircuitBreakerRejectedCalls, "reason", "circuit_open");
+        counter(registry, "weather.upstream.rejected", "Upstream calls rejected before being sent",
+                this::resilience, UpstreamResilienceStatistics::getConcurrencyLimitRejectedCalls,
+                "reason", "concurrency_limit");
+    }
+
+    private void bindHistory(MeterRegistry registry) {
+        gauge(registry, "weather.history.cities", "Cities with a temperature history",
+                this::history, TemperatureStoreStatistics::getCities);
+        gauge(registry, "weather.history.points", "Forecast points held in the temperature history",
+                this::history, TemperatureStoreStatistics::getPoints);
+        gauge(registry, "weather.history.memory", "Bytes reserved for temperature history columns",
+                this::history, TemperatureStoreStatistics::getEstimatedBytes);
+    }
+
+    private void bindWarmup(MeterRegistry registry) {
+        TimeGauge.builder("weather.warmup.duration", this, TimeUnit.MILLISECONDS,
+                        binder -> warmup().getDurationMillis())
+                .description("Time spent warming weatherSummary at startup")
+                .register(registry);
+        gauge(registry, "weather.warmup.cities", "Warm-up cities by result",
+                this::warmup, WarmupStatistics::getLoaded, "result", "loaded");
+        gauge(registry, "weather.warmup.cities", "Warm-up cities by result",
+                this::warmup, WarmupStatistics::getAlreadyCached, "result", "already_cached");
+        gauge(registry, "weather.warmup.cities", "Warm-up cities by result",
+                this::warmup, WarmupStatistics::getFailed, "result", "failed");
+    }
+
+    private void bindCluster(MeterRegistry registry) {
+        counter(registry, "weather.cluster.peer.fetches", "Summaries requested from the owning cluster node",
+                this::peerFetches, LoadStatistics::getLoadCount);
+        counter(registry, "weather.cluster.peer.failures", "Owner requests that failed, including unknown cities",
+                this::peerFetches, LoadStatistics::getLoadFailureCount);
+    }
+
+    private void bindStreams(MeterRegistry registry) {
+        gauge(registry, "weather.stream.subscribers", "Open GET /weather/stream connections",
+                this::streams, StreamStatistics::getSubscribers);
+        gauge(registry, "weather.stream.cities", "Cities with a running stream poller",
+                this::streams, StreamStatistics::getCities);
+        counter(registry, "weather.stream.updates", "Changed summaries published to stream subscribers",
+                this::streams, StreamStatistics::getUpdates);
+        counter(registry, "weather.stream.rejected", "Stream subscriptions refused at the subscriber cap",
+                this::streams, StreamStatistics::getRejected);
+    }
+
+    private LoadStatistics loads() {
+        return weatherSummaryLoads.statistics(CacheConfig.WEATHER_SUMMARY);
+    }
+
+    private RefreshStatistics refresh() {
+        return weatherSummaryRefresher.statistics(CacheConfig.WEATHER_SUMMARY);
+    }
+
+    private QuotaStatistics quota() {
+        return upstreamQuotaScheduler.statistics();
+    }
+
+    private UpstreamResilienceStatistics resilience() {
+        return upstreamGuard.statistics();
+    }
+
+    private TemperatureStoreStatistics history() {
+        return temperatureStore.statistics();
+    }
+
+    private WarmupStatistics warmup() {
+        return cacheWarmer.statistics();
+    }
+
+    private LoadStatistics peerFetches() {
+        return peerClient.statistics(CacheConfig.WEATHER_SUMMARY_NEAR);
+    }
+
+    private StreamStatistics streams() {
+        return weatherStreamService.statistics();
+    }
+
+    private <S> void gauge(MeterRegistry registry, String name, String description,
+                           Supplier<S> source, ToDoubleFunction<S> value, String... tags) {
+        // meters hold their state object weakly; the binder bean lives as long as the registry
+        Gauge.builder(name, this, binder -> value.applyAsDouble(source.get()))
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    private <S> void counter(MeterRegistry registry, String name, String description,
+                             Supplier<S> source, ToDoubleFunction<S> value, String... tags) {
+        FunctionCounter.builder(name, this, binder -> value.applyAsDouble(source.get()))
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,277 @@
+package au.com.visiondigital.weatherDataBackend.parser;
+
+import au.com.visiondigital.weatherDataBackend.dto.DailyWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperaturePercentiles;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.exeption.ExternalApiException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Single-pass reader for the OpenWeatherMap 5 day / 3 hour forecast payload.
+ * Only {@code city.id}, {@code city.name}, {@code list[].main.temp}, {@code list[].dt} and
+ * {@code list[].dt_txt} are read; everything else is skipped at the token level, so no tree is built and
+ * no per-entry strings are created. Dates are copied into reusable char buffers
+ * and only turned into strings once, for the final hottest and coldest day.
+ * <p>
+ * The same pass fills the per-day breakdown: entries are bucketed by day index into
+ * parallel {@code double[]}/{@code int[]} arrays, and every temperature is appended
+ * to a {@code double[]} next to its {@code dt} in a {@code long[]}. Those two columns
+ * are handed out as the {@link ForecastSeries}; the percentiles sort a copy.
+ */
+public class ForecastParser {
+    private static final double KELVIN_OFFSET = 273.15;
+    private static final int DATE_LENGTH = "yyyy-MM-dd".length();
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+
+    public WeatherData parse(String jsonResponse) {
+        return parseForecast(jsonResponse).summary();
+    }
+
+    /** Parses the summary together with the OpenWeatherMap city ID it belongs to. */
+    public ParsedForecast parseForecast(String jsonResponse) {
+        try (JsonParser parser = JSON_FACTORY.createParser(jsonResponse)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new ExternalApiException("Malformed forecast payload", e);
+        }
+    }
+
+    private ParsedForecast parse(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+        ForecastAccumulator accumulator = new ForecastAccumulator();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("list".equals(field) && value == JsonToken.START_ARRAY) {
+                readEntries(parser, accumulator);
+            } else if ("city".equals(field) && value == JsonToken.START_OBJECT) {
+                readCity(parser, accumulator);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (accumulator.cityName == null) throw new ExternalApiException("Forecast payload has no city.name");
+        WeatherData summary = accumulator.toWeatherData();
+        return new ParsedForecast(accumulator.cityId, summary, accumulator.toBreakdown(summary),
+                accumulator.toSeries());
+    }
+
+    private void readEntries(JsonParser parser, ForecastAccumulator accumulator) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            double kelvin = Double.NaN;
+            long epochSecond = ForecastSeries.UNKNOWN_TIME;
+            int dateLength = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("main".equals(field) && value == JsonToken.START_OBJECT) {
+                    kelvin = readTemperature(parser);
+                } else if ("dt".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    epochSecond = parser.getLongValue();
+                } else if ("dt_txt".equals(field) && value == JsonToken.VALUE_STRING) {
+                    dateLength = accumulator.readEntryDate(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (Double.isNaN(kelvin) || dateLength < 0) {
+                throw new ExternalApiException("Forecast entry is missing main.temp or dt_txt");
+            }
+            accumulator.accept(kelvin - KELVIN_OFFSET, epochSecond, dateLength);
+        }
+    }
+
+    private double readTemperature(JsonParser parser) throws IOException {
+        double kelvin = Double.NaN;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("temp".equals(field) && value.isNumeric()) {
+                kelvin = parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return kelvin;
+    }
+
+    private void readCity(JsonParser parser, ForecastAccumulator accumulator) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("name".equals(field) && value == JsonToken.VALUE_STRING) {
+                accumulator.cityName = parser.getText();
+            } else if ("id".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                accumulator.cityId = parser.getLongValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new ExternalApiException("Malformed forecast payload: expected " + expected + " but was " + actual);
+        }
+    }
+
+    /** Running totals for one parse; dates live in fixed char buffers rather than strings. */
+    private static final class ForecastAccumulator {
+        // a 5 day / 3 hour forecast spans 40 entries over at most 6 calendar days
+        private static final int INITIAL_ENTRIES = 40;
+        private static final int INITIAL_DAYS = 6;
+
+        private String cityName;
+        private long cityId = ParsedForecast.UNKNOWN_CITY_ID;
+
+        private final char[] entryDate = new char[DATE_LENGTH];
+        private final char[] hottestDate = new char[DATE_LENGTH];
+        private final char[] coldestDate = new char[DATE_LENGTH];
+        private int hottestLength;
+        private int coldestLength;
+
+        private double totalTemperature;
+        private double maxTemperature = Double.NEGATIVE_INFINITY;
+        private double minTemperature = Double.POSITIVE_INFINITY;
+        private int count;
+
+        private double[] temperatures = new double[INITIAL_ENTRIES];
+        private long[] epochSeconds = new long[INITIAL_ENTRIES];
+        private char[] dayDates = new char[INITIAL_DAYS * DATE_LENGTH];
+        private int[] dayDateLengths = new int[INITIAL_DAYS];
+        private double[] dayMin = new double[INITIAL_DAYS];
+        private double[] dayMax = new double[INITIAL_DAYS];
+        private double[] daySum = new double[INITIAL_DAYS];
+        private int[] dayCount = new int[INITIAL_DAYS];
+        private int days;
+
+        /** Copies the date part of {@code dt_txt} ("yyyy-MM-dd HH:mm:ss") into the entry buffer. */
+        int readEntryDate(JsonParser parser) throws IOException {
+            char[] text = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            int length = Math.min(parser.getTextLength(), DATE_LENGTH);
+            int dateLength = 0;
+            while (dateLength < length && text[offset + dateLength] != ' ') {
+                entryDate[dateLength] = text[offset + dateLength];
+                dateLength++;
+            }
+            return dateLength;
+        }
+
+        void accept(double temperature, long epochSecond, int dateLength) {
+            if (count == temperatures.length) {
+                temperatures = Arrays.copyOf(temperatures, count * 2);
+                epochSeconds = Arrays.copyOf(epochSeconds, count * 2);
+            }
+            temperatures[count] = temperature;
+            epochSeconds[count] = epochSecond;
+            totalTemperature += temperature;
+            count++;
+
+            int day = dayIndex(dateLength);
+            dayMin[day] = Math.min(dayMin[day], temperature);
+            dayMax[day] = Math.max(dayMax[day], temperature);
+            daySum[day] += temperature;
+            dayCount[day]++;
+
+            if (temperature > maxTemperature) {
+                maxTemperature = temperature;
+                System.arraycopy(entryDate, 0, hottestDate, 0, dateLength);
+                hottestLength = dateLength;
+            }
+            if (temperature < minTemperature) {
+                minTemperature = temperature;
+                System.arraycopy(entryDate, 0, coldestDate, 0, dateLength);
+                coldestLength = dateLength;
+            }
+        }
+
+        /** Bucket for the entry date; entries arrive in time order, so the last day is checked first. */
+        private int dayIndex(int dateLength) {
+            for (int day = days - 1; day >= 0; day--) {
+                if (sameDate(day, dateLength)) return day;
+            }
+            if (days == dayCount.length) growDays();
+            System.arraycopy(entryDate, 0, dayDates, days * DATE_LENGTH, dateLength);
+            dayDateLengths[days] = dateLength;
+            dayMin[days] = Double.POSITIVE_INFINITY;
+            dayMax[days] = Double.NEGATIVE_INFINITY;
+            return days++;
+        }
+
+        private boolean sameDate(int day, int dateLength) {
+            if (dayDateLengths[day] != dateLength) return false;
+            int offset = day * DATE_LENGTH;
+            for (int i = 0; i < dateLength; i++) {
+                if (dayDates[offset + i] != entryDate[i]) return false;
+            }
+            return true;
+        }
+
+        private void growDays() {
+            int capacity = dayCount.length * 2;
+            dayDates = Arrays.copyOf(dayDates, capacity * DATE_LENGTH);
+            dayDateLengths = Arrays.copyOf(dayDateLengths, capacity);
+            dayMin = Arrays.copyOf(dayMin, capacity);
+            dayMax = Arrays.copyOf(dayMax, capacity);
+            daySum = Arrays.copyOf(daySum, capacity);
+            dayCount = Arrays.copyOf(dayCount, capacity);
+        }
+
+        WeatherBreakdown toBreakdown(WeatherData summary) {
+            List<DailyWeather> daily = new ArrayList<>(days);
+            for (int day = 0; day < days; day++) {
+                daily.add(new DailyWeather(
+                        new String(dayDates, day * DATE_LENGTH, dayDateLengths[day]),
+                        dayMin[day],
+                        dayMax[day],
+                        daySum[day] / dayCount[day],
+                        dayCount[day]));
+            }
+            if (count == 0) return new WeatherBreakdown(summary, daily, null);
+
+            // the series keeps the time order, so sort a copy
+            double[] sorted = Arrays.copyOf(temperatures, count);
+            Arrays.sort(sorted);
+            return new WeatherBreakdown(summary, daily, new TemperaturePercentiles(
+                    percentile(sorted, 0.10), percentile(sorted, 0.25), percentile(sorted, 0.50),
+                    percentile(sorted, 0.75), percentile(sorted, 0.90)));
+        }
+
+        /** Linear interpolation between closest ranks over the sorted temperatures. */
+        private static double percentile(double[] sorted, double fraction) {
+            double rank = fraction * (sorted.length - 1);
+            int lower = (int) rank;
+            int upper = Math.min(lower + 1, sorted.length - 1);
+            return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+        }
+
+        ForecastSeries toSeries() {
+            return new ForecastSeries(epochSeconds, temperatures, count);
+        }
+
+        WeatherData toWeatherData() {
+            return new WeatherData(
+                    cityName,
+                    totalTemperature / count,
+                    count == 0 ? null : new String(hottestDate, 0, hottestLength),
+                    count == 0 ? null : new String(coldestDate, 0, coldestLength)
+            );
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package au.com.visiondigital.weatherDataBackend.parser;
+
+
+/**
+ * The forecast entries in payload order as two parallel columns: {@code list[].dt}
+ * in epoch seconds and the temperature in Celsius. Only the first {@code count}
+ * slots are used; an entry without {@code dt} has {@link #UNKNOWN_TIME}.
+ */
+public record ForecastSeries(long[] epochSeconds, double[] temperatures, int count) {
+
+    public static final long UNKNOWN_TIME = Long.MIN_VALUE;
+}
@@ -0,0 +1,15 @@
+package au.com.visiondigital.weatherDataBackend.parser;
+
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+
+
+/**
+ * A parsed forecast: the summary, its per-day breakdown, the raw temperature series
+ * and the OpenWeatherMap city ID from {@code city.id}, or {@link #UNKNOWN_CITY_ID}
+ * when the payload has none.
+ */
+public record ParsedForecast(long cityId, WeatherData summary, WeatherBreakdown breakdown, ForecastSeries series) {
+
+    public static final long UNKNOWN_CITY_ID = 0;
+}
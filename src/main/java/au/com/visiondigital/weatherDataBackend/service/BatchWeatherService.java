@@ -0,0 +1,11 @@
+package au.com.visiondigital.weatherDataBackend.service;
+
+import au.com.visiondigital.weatherDataBackend.dto.BatchWeatherResult;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+
+public interface BatchWeatherService {
+    Mono<List<BatchWeatherResult>> getWeatherSummaries(List<String> cities);
+}
@@ -0,0 +1,28 @@
+package au.com.visiondigital.weatherDataBackend.service;
+
+import au.com.visiondigital.weatherDataBackend.dto.CacheStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.ClusterStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.LoadStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.RefreshStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.StreamStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureStoreStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.WarmupStatistics;
+
+import java.util.List;
+
+
+public interface CacheStatisticsService {
+    List<CacheStatistics> getStatistics();
+
+    List<LoadStatistics> getLoadStatistics();
+
+    List<RefreshStatistics> getRefreshStatistics();
+
+    TemperatureStoreStatistics getHistoryStatistics();
+
+    WarmupStatistics getWarmupStatistics();
+
+    ClusterStatistics getClusterStatistics();
+
+    StreamStatistics getStreamStatistics();
+}
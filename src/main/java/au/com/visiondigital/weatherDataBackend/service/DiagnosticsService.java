@@ -0,0 +1,13 @@
+package au.com.visiondigital.weatherDataBackend.service;
+
+import au.com.visiondigital.weatherDataBackend.dto.SlowRequestReport;
+
+
+public interface DiagnosticsService {
+    /**
+     * Recent {@code /weather} requests slower than the configured threshold, with their
+     * phases. The first call starts capturing, so it returns no requests yet; capturing
+     * stops again once nobody has asked for a while.
+     */
+    SlowRequestReport getSlowRequests();
+}
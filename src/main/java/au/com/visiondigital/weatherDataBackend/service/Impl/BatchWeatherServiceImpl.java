@@ -0,0 +1,81 @@
+package au.com.visiondigital.weatherDataBackend.service.Impl;
+
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.dto.BatchWeatherResult;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import au.com.visiondigital.weatherDataBackend.exeption.ExternalApiException;
+import au.com.visiondigital.weatherDataBackend.exeption.InvalidRequestException;
+import au.com.visiondigital.weatherDataBackend.exeption.QuotaExceededException;
+import au.com.visiondigital.weatherDataBackend.exeption.UpstreamUnavailableException;
+import au.com.visiondigital.weatherDataBackend.service.BatchWeatherService;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+
+@Service
+@RequiredArgsConstructor
+public class BatchWeatherServiceImpl implements BatchWeatherService {
+    private final WeatherService weatherService;
+    private final WeatherProperties properties;
+
+    @Override
+    public Mono<List<BatchWeatherResult>> getWeatherSummaries(List<String> cities) {
+        WeatherProperties.Batch batch = properties.getBatch();
+        LinkedHashSet<String> distinctCities = new LinkedHashSet<>(cities);
+        if (distinctCities.size() > batch.getMaxCities()) {
+            return Mono.error(new InvalidRequestException(
+                    "A batch may contain at most " + batch.getMaxCities() + " cities"));
+        }
+
+        // answer cache hits straight away; only misses take a slot in the bounded fan-out
+        Map<String, BatchWeatherResult> results = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String city : distinctCities) {
+            Optional<WeatherData> cached = weatherService.getCachedWeatherSummary(city);
+            if (cached.isPresent()) {
+                results.put(city, BatchWeatherResult.success(city, cached.get()));
+            } else {
+                results.put(city, null);
+                misses.add(city);
+            }
+        }
+
+        return Flux.fromIterable(misses)
+                .flatMap(city -> weatherService.getWeatherSummary(city)
+                                .map(data -> BatchWeatherResult.success(city, data))
+                                .onErrorResume(e -> Mono.just(toFailure(city, e))),
+                        batch.getParallelism())
+                .doOnNext(result -> results.put(result.getCity(), result))
+                .then(Mono.fromSupplier(() -> List.copyOf(results.values())));
+    }
+
+    private BatchWeatherResult toFailure(String city, Throwable e) {
+        if (e instanceof CityNotFoundException) {
+            return BatchWeatherResult.failure(city, HttpStatus.NOT_FOUND.value(), e.getMessage());
+        }
+        if (e instanceof QuotaExceededException) {
+            return BatchWeatherResult.failure(city, HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+        }
+        if (e instanceof UpstreamUnavailableException) {
+            return BatchWeatherResult.failure(city, HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        }
+        if (e instanceof ExternalApiException) {
+            return BatchWeatherResult.failure(city, HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
+        }
+        return BatchWeatherResult.failure(city, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "An unexpected error occurred. Please try again later.");
+    }
+}
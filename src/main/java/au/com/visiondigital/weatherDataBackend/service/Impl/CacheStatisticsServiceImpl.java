@@ -0,0 +1,101 @@
+package au.com.visiondigital.weatherDataBackend.service.Impl;
+
+import au.com.visiondigital.weatherDataBackend.cache.CacheWarmer;
+import au.com.visiondigital.weatherDataBackend.cache.CachedWeather;
+import au.com.visiondigital.weatherDataBackend.cache.RefreshAheadExecutor;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.cluster.ClusterMembership;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.dto.CacheStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.ClusterStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.LoadStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.RefreshStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.StreamStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureStoreStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.WarmupStatistics;
+import au.com.visiondigital.weatherDataBackend.service.CacheStatisticsService;
+import au.com.visiondigital.weatherDataBackend.service.WeatherStreamService;
+import au.com.visiondigital.weatherDataBackend.timeseries.TemperatureStore;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final CacheManager cacheManager;
+    private final SingleFlight<String, CachedWeather> weatherSummaryLoads;
+    private final RefreshAheadExecutor weatherSummaryRefresher;
+    private final TemperatureStore temperatureStore;
+    private final CacheWarmer cacheWarmer;
+    private final ClusterMembership clusterMembership;
+    private final PeerClient peerClient;
+    private final WeatherStreamService weatherStreamService;
+
+    @Override
+    public List<CacheStatistics> getStatistics() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(this::toStatistics)
+                .toList();
+    }
+
+    @Override
+    public List<LoadStatistics> getLoadStatistics() {
+        return List.of(weatherSummaryLoads.statistics(CacheConfig.WEATHER_SUMMARY));
+    }
+
+    @Override
+    public List<RefreshStatistics> getRefreshStatistics() {
+        return List.of(weatherSummaryRefresher.statistics(CacheConfig.WEATHER_SUMMARY));
+    }
+
+    @Override
+    public TemperatureStoreStatistics getHistoryStatistics() {
+        return temperatureStore.statistics();
+    }
+
+    @Override
+    public WarmupStatistics getWarmupStatistics() {
+        return cacheWarmer.statistics();
+    }
+
+    @Override
+    public ClusterStatistics getClusterStatistics() {
+        return new ClusterStatistics(clusterMembership.isEnabled(), clusterMembership.getSelf(),
+                clusterMembership.getNodes(), clusterMembership.getVirtualNodes(),
+                peerClient.statistics(CacheConfig.WEATHER_SUMMARY_NEAR));
+    }
+
+    @Override
+    public StreamStatistics getStreamStatistics() {
+        return weatherStreamService.statistics();
+    }
+
+    private CacheStatistics toStatistics(CaffeineCache cache) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatistics(
+                cache.getName(),
+                nativeCache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.loadSuccessCount(),
+                stats.loadFailureCount(),
+                stats.averageLoadPenalty() / NANOS_PER_MILLI
+        );
+    }
+}
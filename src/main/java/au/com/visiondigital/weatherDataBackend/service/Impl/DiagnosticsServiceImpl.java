@@ -0,0 +1,168 @@
+package au.com.visiondigital.weatherDataBackend.service.Impl;
+
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.diagnostics.CacheLookupEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.ForecastParseEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.RequestEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.ResponseEncodeEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.ResponseWriteEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.ThreadHandoffEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.UpstreamFetchEvent;
+import au.com.visiondigital.weatherDataBackend.dto.RequestPhase;
+import au.com.visiondigital.weatherDataBackend.dto.SlowRequest;
+import au.com.visiondigital.weatherDataBackend.dto.SlowRequestReport;
+import au.com.visiondigital.weatherDataBackend.service.DiagnosticsService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Streams the weather JFR events from an in-process recording while someone is looking.
+ * Request events are only committed when slower than {@code slow-threshold}; phase events
+ * are all kept in a bounded window so a slow request can be matched with the phases for
+ * its city that overlapped it. A phase can belong to several requests, e.g. a single
+ * upstream fetch shared by concurrent misses. Nothing is recorded while not capturing.
+ */
+@Service
+@Slf4j
+public class DiagnosticsServiceImpl implements DiagnosticsService {
+
+    private static final List<String> PHASES = List.of(CacheLookupEvent.NAME, UpstreamFetchEvent.NAME,
+            ForecastParseEvent.NAME, ResponseEncodeEvent.NAME, ThreadHandoffEvent.NAME, ResponseWriteEvent.NAME);
+
+    private final WeatherProperties.Diagnostics properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Recorded> phases = new ArrayDeque<>();
+    private final Deque<Recorded> slowRequests = new ArrayDeque<>();
+    private RecordingStream recording;
+    private Instant capturingSince;
+    private volatile long lastReadMillis;
+
+    public DiagnosticsServiceImpl(WeatherProperties properties) {
+        this.properties = properties.getDiagnostics();
+    }
+
+    @Override
+    public SlowRequestReport getSlowRequests() {
+        lastReadMillis = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (recording == null) start();
+            List<SlowRequest> requests = new ArrayList<>(slowRequests.size());
+            slowRequests.descendingIterator().forEachRemaining(request -> requests.add(report(request)));
+            return new SlowRequestReport(capturingSince.toString(), properties.getSlowThreshold().toMillis(), requests);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(RequestEvent.NAME).withThreshold(properties.getSlowThreshold());
+        stream.onEvent(RequestEvent.NAME, event -> add(slowRequests, properties.getMaxSlowRequests(), event));
+        for (String phase : PHASES) {
+            stream.enable(phase).withThreshold(Duration.ZERO);
+            stream.onEvent(phase, event -> add(phases, properties.getMaxPhases(), event));
+        }
+        stream.startAsync();
+        phases.clear();
+        slowRequests.clear();
+        recording = stream;
+        capturingSince = Instant.now();
+        log.info("Capturing weather request events, slow threshold {}", properties.getSlowThreshold());
+    }
+
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void stopIfIdle() {
+        if (System.currentTimeMillis() - lastReadMillis < properties.getIdleTimeout().toMillis()) return;
+        lock.lock();
+        try {
+            if (recording == null) return;
+            stop();
+            log.info("Stopped capturing weather request events after {} idle", properties.getIdleTimeout());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (recording != null) stop();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void stop() {
+        recording.close();
+        recording = null;
+    }
+
+    private void add(Deque<Recorded> events, int max, RecordedEvent event) {
+        Recorded recorded = Recorded.of(event);
+        lock.lock();
+        try {
+            if (events.size() >= max) events.pollFirst();
+            events.addLast(recorded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SlowRequest report(Recorded request) {
+        List<RequestPhase> matched = phases.stream()
+                .filter(phase -> phase.city().equals(request.city())
+                        && !phase.end().isBefore(request.start()) && !phase.start().isAfter(request.end()))
+                .sorted(Comparator.comparing(Recorded::start))
+                .map(phase -> new RequestPhase(phase.name(), phase.outcome(), phase.detail(), phase.thread(),
+                        millis(Duration.between(request.start(), phase.start())), millis(phase.duration())))
+                .toList();
+        return new SlowRequest(request.city(), request.detail(), request.status(), request.outcome(),
+                request.start().toString(), millis(request.duration()), matched);
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /** What is kept of an event once the stream has moved past it. */
+    private record Recorded(String name, String city, String outcome, String detail, int status, String thread,
+                            Instant start, Duration duration) {
+
+        static Recorded of(RecordedEvent event) {
+            String name = event.getEventType().getName();
+            int status = event.hasField("status") ? event.getInt("status") : 0;
+            String detail = switch (name) {
+                case RequestEvent.NAME -> event.getString("path");
+                case CacheLookupEvent.NAME -> event.getString("source");
+                case UpstreamFetchEvent.NAME, ForecastParseEvent.NAME -> event.getInt("responseLength") + " chars";
+                case ResponseEncodeEvent.NAME -> event.getString("format") + ", " + event.getInt("bytes") + " bytes";
+                case ThreadHandoffEvent.NAME -> "from " + event.getString("fromThread");
+                default -> status == 0 ? null : "status " + status;
+            };
+            String thread = event.getThread() == null ? null : event.getThread().getJavaName();
+            return new Recorded(name, event.getString("city"), event.getString("outcome"), detail, status, thread,
+                    event.getStartTime(), event.getDuration());
+        }
+
+        Instant end() {
+            return start.plus(duration);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package au.com.visiondigital.weatherDataBackend.service.Impl;
+
+import au.com.visiondigital.weatherDataBackend.client.QuotaScheduler;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamGuard;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamPoolMetrics;
+import au.com.visiondigital.weatherDataBackend.dto.ConnectionPoolStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.QuotaStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.UpstreamResilienceStatistics;
+import au.com.visiondigital.weatherDataBackend.service.UpstreamStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+
+
+@Service
+@RequiredArgsConstructor
+public class UpstreamStatisticsServiceImpl implements UpstreamStatisticsService {
+    private final UpstreamPoolMetrics upstreamPoolMetrics;
+    private final UpstreamGuard upstreamGuard;
+    private final QuotaScheduler upstreamQuotaScheduler;
+
+    @Override
+    public List<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+        return upstreamPoolMetrics.statistics();
+    }
+
+    @Override
+    public UpstreamResilienceStatistics getResilienceStatistics() {
+        return upstreamGuard.statistics();
+    }
+
+    @Override
+    public QuotaStatistics getQuotaStatistics() {
+        return upstreamQuotaScheduler.statistics();
+    }
+}
@@ -1,103 +1,381 @@
 package au.com.visiondigital.weatherDataBackend.service.Impl;
 
 
+import au.com.visiondigital.weatherDataBackend.cache.CachedWeather;
+import au.com.visiondigital.weatherDataBackend.cache.CityKeys;
+import au.com.visiondigital.weatherDataBackend.cache.RefreshAheadExecutor;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.client.QuotaScheduler;
+import au.com.visiondigital.weatherDataBackend.client.UpstreamGuard;
+import au.com.visiondigital.weatherDataBackend.cluster.ClusterMembership;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.diagnostics.CacheLookupEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.ForecastParseEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.ResponseEncodeEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.UpstreamFetchEvent;
+import au.com.visiondigital.weatherDataBackend.dto.PeerWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.dto.Versioned;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
 import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.EncodedBody;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseEncoder;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
 import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
 import au.com.visiondigital.weatherDataBackend.exeption.ExternalApiException;
+import au.com.visiondigital.weatherDataBackend.exeption.InvalidRequestException;
+import au.com.visiondigital.weatherDataBackend.exeption.UpstreamUnavailableException;
+import au.com.visiondigital.weatherDataBackend.metrics.WeatherMetrics;
+import au.com.visiondigital.weatherDataBackend.parser.ForecastParser;
+import au.com.visiondigital.weatherDataBackend.parser.ParsedForecast;
 import au.com.visiondigital.weatherDataBackend.service.WeatherService;
-import lombok.RequiredArgsConstructor;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import au.com.visiondigital.weatherDataBackend.timeseries.TemperatureStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class WeatherServiceImpl implements WeatherService {
     private final WebClient webClient;
+    private final QuotaScheduler upstreamQuotaScheduler;
+    private final UpstreamGuard upstreamGuard;
+    private final SingleFlight<String, CachedWeather> weatherSummaryLoads;
+    private final RefreshAheadExecutor weatherSummaryRefresher;
+    private final TemperatureStore temperatureStore;
+    private final ResponseEncoder responseEncoder;
+    private final ClusterMembership clusterMembership;
+    private final PeerClient peerClient;
+    private final WeatherProperties.Cache cacheProperties;
+    private final WeatherProperties.Response responseProperties;
+    private final WeatherProperties.History historyProperties;
+    private final WeatherProperties.Upstream upstreamProperties;
+    private final Cache weatherSummaryCache;
+    private final Cache lastKnownWeatherSummaryCache;
+    private final Cache notFoundCache;
+    private final Cache aliasCache;
+    private final Cache nearCache;
+    private final WeatherMetrics weatherMetrics;
+    private final ForecastParser forecastParser = new ForecastParser();
 
-    @Cacheable(value = "weatherSummary", key = "#city", unless = "#result == null", cacheManager = "cacheManager")
-    @Async
-    public WeatherData getWeatherSummary(String city) {
-            //System.out.println("getWeatherSummary");
-        System.out.println("getWeatherSummary funtion started");
-        String apiResponse = fetchWeatherData(city);
-        System.out.println("output in api service layer "+apiResponse);
-        if (apiResponse == null) throw new CityNotFoundException(city);
+    @Autowired
+    public WeatherServiceImpl(WebClient webClient,
+                              QuotaScheduler upstreamQuotaScheduler,
+                              UpstreamGuard upstreamGuard,
+                              SingleFlight<String, CachedWeather> weatherSummaryLoads,
+                              RefreshAheadExecutor weatherSummaryRefresher,
+                              TemperatureStore temperatureStore,
+                              ResponseEncoder responseEncoder,
+                              ClusterMembership clusterMembership,
+                              PeerClient peerClient,
+                              CacheManager cacheManager,
+                              WeatherProperties properties,
+                              WeatherMetrics weatherMetrics) {
+        this.webClient = webClient;
+        this.upstreamQuotaScheduler = upstreamQuotaScheduler;
+        this.upstreamGuard = upstreamGuard;
+        this.weatherSummaryLoads = weatherSummaryLoads;
+        this.weatherSummaryRefresher = weatherSummaryRefresher;
+        this.temperatureStore = temperatureStore;
+        this.responseEncoder = responseEncoder;
+        this.clusterMembership = clusterMembership;
+        this.peerClient = peerClient;
+        this.cacheProperties = properties.getCache();
+        this.responseProperties = properties.getResponse();
+        this.historyProperties = properties.getHistory();
+        this.upstreamProperties = properties.getUpstream();
+        this.weatherSummaryCache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY);
+        this.lastKnownWeatherSummaryCache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY_LAST_KNOWN);
+        this.notFoundCache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY_NOT_FOUND);
+        this.aliasCache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY_ALIASES);
+        this.nearCache = cacheManager.getCache(CacheConfig.WEATHER_SUMMARY_NEAR);
+        this.weatherMetrics = weatherMetrics;
+    }
 
-        WeatherData weatherData = parseWeatherData(apiResponse);
-        System.out.println("End of executing getWeatherSummary funtion");
-        return weatherData;
+    public Mono<WeatherData> getWeatherSummary(String city) {
+        return get(city, CachedWeather::getData);
     }
 
-    private String fetchWeatherData(String city) {
-        try {
-            //System.out.println("  fetch data set");
-            return webClient
-                    .get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/data/2.5/forecast")
-                            .queryParam("q", city)
-                            .queryParam("appid", "bcca5f50ea7f5be3a7cc1761b31b3dfa")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-        } catch (Exception e) {
-            throw new ExternalApiException("Error fetching data for city: " + city, e);
+    public Mono<WeatherBreakdown> getWeatherBreakdown(String city) {
+        return get(city, CachedWeather::getBreakdown);
+    }
+
+    public Mono<Versioned<WeatherData>> getVersionedWeatherSummary(String city, ResponseFormat format) {
+        return get(city, versioned(CachedWeather::getData,
+                entry -> entry.encodedData(format, (value, f) -> encode(city, value, f)), format.eTagSuffix()));
+    }
+
+    public Mono<Versioned<WeatherBreakdown>> getVersionedWeatherBreakdown(String city, ResponseFormat format) {
+        return get(city, versioned(CachedWeather::getBreakdown,
+                entry -> entry.encodedBreakdown(format, (value, f) -> encode(city, value, f)),
+                "-daily" + format.eTagSuffix()));
+    }
+
+    public Mono<PeerWeather> getPeerWeather(String city) {
+        // answered from this node even if its ring disagrees, so a request is forwarded at most once
+        return get(city, entry -> entry.getBreakdown() == null ? null
+                : new PeerWeather(entry.getFetchedAtMillis(), entry.getBreakdown()), false);
+    }
+
+    /**
+     * Wraps {@code view} with the entry validators and, when pre-serialization is on,
+     * its encoded form; {@code suffix} keeps the ETag distinct per representation.
+     */
+    private <T> Function<CachedWeather, Versioned<T>> versioned(Function<CachedWeather, T> view,
+                                                                Function<CachedWeather, EncodedBody> encoded,
+                                                                String suffix) {
+        return entry -> {
+            T value = view.apply(entry);
+            if (value == null) return null;
+            long ageMillis = System.currentTimeMillis() - entry.getFetchedAtMillis();
+            long maxAgeSeconds = Math.max(0, (cacheProperties.getTimeToLive().toMillis() - ageMillis) / 1000);
+            return new Versioned<>(value, entry.getVersion() + suffix, entry.getFetchedAtMillis(), maxAgeSeconds,
+                    responseProperties.isPreSerialized() ? encoded.apply(entry) : null);
+        };
+    }
+
+    private EncodedBody encode(String city, Object value, ResponseFormat format) {
+        ResponseEncodeEvent event = new ResponseEncodeEvent();
+        event.begin();
+        EncodedBody encoded = responseEncoder.encode(value, format);
+        event.commit(city, "success", format.name(), encoded.body().length);
+        return encoded;
+    }
+
+    private <T> Mono<T> get(String city, Function<CachedWeather, T> view) {
+        return get(city, view, true);
+    }
+
+    /**
+     * Reads {@code view} of the city's entry; an entry whose view is null is treated as a miss.
+     * In cluster mode a city owned by another node is read from the near cache or fetched
+     * from its owner, unless {@code route} is false.
+     */
+    private <T> Mono<T> get(String city, Function<CachedWeather, T> view, boolean route) {
+        long start = System.nanoTime();
+        log.debug("Weather summary requested for {}", city);
+        String alias = CityKeys.normalize(city);
+        boolean local = !route || clusterMembership.isLocal(alias);
+        String source = local ? "cache" : "near_cache";
+        CacheLookupEvent lookup = new CacheLookupEvent();
+        lookup.begin();
+        CachedWeather cached = local ? cachedEntry(city, alias) : nearEntry(alias);
+        T cachedView = cached == null ? null : view.apply(cached);
+        if (cachedView != null) {
+            lookup.commit(alias, source, "hit");
+            weatherMetrics.recordSummary(source, "success", start);
+            return Mono.just(cachedView);
+        }
+        if (peek(notFoundCache, alias) != null) {
+            lookup.commit(alias, "not_found_cache", "not_found");
+            weatherMetrics.recordSummary("not_found_cache", "not_found", start);
+            return Mono.error(new CityNotFoundException(city));
         }
+        lookup.commit(alias, source, "miss");
+
+        // concurrent misses for the same city share a single upstream fetch and parse
+        Mono<CachedWeather> load = local
+                ? loadAndCache(city, alias, QuotaScheduler.Priority.FOREGROUND)
+                : loadFromOwner(city, alias);
+        return weatherMetrics.timeSummary(local ? "upstream" : "peer", load
+                .map(view)
+                .onErrorResume(UpstreamUnavailableException.class, e -> lastKnown(alias, view, e)));
     }
 
-    private WeatherData parseWeatherData(String jsonResponse) {
-        JSONObject jsonObject = new JSONObject(jsonResponse);
-        JSONArray weatherList = jsonObject.getJSONArray("list");
+    /**
+     * While the upstream is shedding load, serve the last summary we fetched for the
+     * city rather than failing. It is not put back into the main cache, so the next
+     * request after the upstream recovers goes straight to a fresh fetch.
+     */
+    private <T> Mono<T> lastKnown(String alias, Function<CachedWeather, T> view, UpstreamUnavailableException e) {
+        CachedWeather entry = lookup(lastKnownWeatherSummaryCache, alias);
+        T lastKnownView = entry == null ? null : view.apply(entry);
+        weatherMetrics.recordLastKnownFallback(lastKnownView != null);
+        if (lastKnownView == null) return Mono.error(e);
+        log.debug("Serving last known summary for {}: {}", alias, e.getMessage());
+        return Mono.just(lastKnownView);
+    }
 
-        double totalTemperature = 0.0;
-        double maxTemperature = Double.MIN_VALUE;
-        double minTemperature = Double.MAX_VALUE;
-        String hottestDay = null;
-        String coldestDay = null;
+    /**
+     * Returns the cached summary, if any. A summary past the soft TTL is still
+     * returned, but a background reload is queued so the next read is fresh.
+     */
+    public Optional<WeatherData> getCachedWeatherSummary(String city) {
+        return Optional.ofNullable(cachedEntry(city, CityKeys.normalize(city))).map(CachedWeather::getData);
+    }
 
-        for (int i = 0; i < weatherList.length(); i++) {
-            JSONObject weatherEntry = weatherList.getJSONObject(i);
+    public Mono<Boolean> warmUp(String city) {
+        String alias = CityKeys.normalize(city);
+        // in cluster mode each node warms only the cities it owns
+        if (!clusterMembership.isLocal(alias) || lookup(weatherSummaryCache, alias) != null) return Mono.just(false);
+        return loadAndCache(city, alias, QuotaScheduler.Priority.BACKGROUND).thenReturn(true);
+    }
 
-            //extract temperature (convert from kelvin to Celsius)
-            double temperature = weatherEntry.getJSONObject("main").getDouble("temp") - 273.15;
+    public Mono<TemperatureHistory> getTemperatureHistory(String city, int days) {
+        if (!isValidHistoryDays(days)) return Mono.error(invalidHistoryDays());
+        String alias = CityKeys.normalize(city);
+        if (clusterMembership.isLocal(alias)) return Mono.defer(() -> Mono.justOrEmpty(readLocalHistory(alias, days)));
 
-            //extract date
-            String date = weatherEntry.getString("dt_txt").split(" ")[0]; //extract only the date part
+        // only the owner ingests a city's forecast points; if it is down, answer with whatever is here
+        String owner = clusterMembership.ownerOf(alias);
+        return peerClient.history(owner, city, days)
+                .onErrorResume(e -> {
+                    log.debug("Owner {} unavailable for history of {}: {}", owner, alias, e.getMessage());
+                    return Mono.justOrEmpty(readLocalHistory(alias, days));
+                });
+    }
 
-            ///sum temperatures for average calculation
-            totalTemperature += temperature;
+    public Optional<TemperatureHistory> getLocalTemperatureHistory(String city, int days) {
+        if (!isValidHistoryDays(days)) throw invalidHistoryDays();
+        return readLocalHistory(CityKeys.normalize(city), days);
+    }
 
-            ///check for hottest day
-            if (temperature > maxTemperature) {
-                maxTemperature = temperature;
-                hottestDay = date;
-            }
+    private Optional<TemperatureHistory> readLocalHistory(String alias, int days) {
+        return peek(aliasCache, alias) instanceof String key
+                ? temperatureStore.history(key, days, Instant.now())
+                : Optional.empty();
+    }
+
+    private boolean isValidHistoryDays(int days) {
+        return days >= 1 && days <= historyProperties.getMaxDays();
+    }
+
+    private InvalidRequestException invalidHistoryDays() {
+        return new InvalidRequestException("days must be between 1 and " + historyProperties.getMaxDays());
+    }
+
+    private CachedWeather cachedEntry(String city, String alias) {
+        CachedWeather entry = lookup(weatherSummaryCache, alias);
+        if (entry == null) return null;
 
-            //check for coldest day
-            if (temperature < minTemperature) {
-                minTemperature = temperature;
-                coldestDay = date;
-            }
+        entry.recordHit();
+        if (entry.isStale(System.currentTimeMillis(), cacheProperties.getRefreshAfter())) {
+            weatherSummaryRefresher.schedule(entry, () -> loadAndCache(city, alias, QuotaScheduler.Priority.BACKGROUND)
+                    .block(cacheProperties.getRefreshTimeout()));
         }
+        return entry;
+    }
+
+    /** A copy fetched from the owner, unless the owner's entry would have expired by now. */
+    private CachedWeather nearEntry(String alias) {
+        return peek(nearCache, alias) instanceof CachedWeather entry
+                && System.currentTimeMillis() - entry.getFetchedAtMillis() < cacheProperties.getTimeToLive().toMillis()
+                ? entry : null;
+    }
 
-        //calculate average temperature
-        double averageTemperature = totalTemperature / weatherList.length();
+    /** Resolves the alias to its canonical key; an alias never loaded before has no entry yet. */
+    private CachedWeather lookup(Cache cache, String alias) {
+        return peek(aliasCache, alias) instanceof String key
+                && peek(cache, key) instanceof CachedWeather entry ? entry : null;
+    }
 
-        //construct WeatherSummary object
-        return new WeatherData(
-                jsonObject.getJSONObject("city").getString("name"),
-                averageTemperature,
-                hottestDay,
-                coldestDay
-        );
+    /** Returns the value if it is already present, without waiting for an in-progress load. */
+    private static Object peek(Cache cache, String key) {
+        CompletableFuture<?> future = cache.retrieve(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.join();
     }
 
+    private Mono<CachedWeather> loadAndCache(String city, String alias, QuotaScheduler.Priority priority) {
+        return weatherSummaryLoads.execute(alias, () -> loadForecast(city, alias, priority)
+                .map(forecast -> {
+                    String key = CityKeys.canonicalKey(alias, forecast.cityId());
+                    CachedWeather entry = new CachedWeather(forecast.breakdown(), System.currentTimeMillis());
+                    weatherSummaryCache.put(key, entry);
+                    lastKnownWeatherSummaryCache.put(key, entry);
+                    aliasCache.put(alias, key);
+                    notFoundCache.evict(alias);
+                    temperatureStore.ingest(key, forecast.summary().getCity(), forecast.series());
+                    return entry;
+                })
+                .doOnError(CityNotFoundException.class, e -> notFoundCache.put(alias, Boolean.TRUE)));
+    }
 
+    /**
+     * Fetches the city from the node that owns it. An unknown city is cached as such; any
+     * other failure, e.g. the owner being down, falls back to fetching it upstream from here.
+     * That copy goes into the near cache only, so the owner is retried once it expires.
+     */
+    private Mono<CachedWeather> loadFromOwner(String city, String alias) {
+        String owner = clusterMembership.ownerOf(alias);
+        return peerClient.fetch(owner, city)
+                .map(peer -> {
+                    CachedWeather entry = new CachedWeather(peer.getBreakdown(), peer.getFetchedAtMillis());
+                    nearCache.put(alias, entry);
+                    notFoundCache.evict(alias);
+                    return entry;
+                })
+                .doOnError(CityNotFoundException.class, e -> notFoundCache.put(alias, Boolean.TRUE))
+                .onErrorResume(e -> !(e instanceof CityNotFoundException), e -> {
+                    log.debug("Owner {} unavailable for {}, fetching locally: {}", owner, alias, e.getMessage());
+                    return loadNearCopy(city, alias);
+                });
+    }
+
+    /** Like {@link #loadAndCache} but keeps the result out of the caches the owner fills. */
+    private Mono<CachedWeather> loadNearCopy(String city, String alias) {
+        return weatherSummaryLoads.execute(alias, () -> loadForecast(city, alias, QuotaScheduler.Priority.FOREGROUND)
+                .map(forecast -> {
+                    CachedWeather entry = new CachedWeather(forecast.breakdown(), System.currentTimeMillis());
+                    nearCache.put(alias, entry);
+                    notFoundCache.evict(alias);
+                    return entry;
+                })
+                .doOnError(CityNotFoundException.class, e -> notFoundCache.put(alias, Boolean.TRUE)));
+    }
+
+    private Mono<ParsedForecast> loadForecast(String city, String alias, QuotaScheduler.Priority priority) {
+        Mono<String> response = fetchWeatherData(city, alias, priority);
+        // only add the operator when enabled; responses run to tens of kilobytes
+        if (log.isTraceEnabled()) {
+            response = response.doOnNext(apiResponse -> log.trace("OpenWeatherMap response for {}: {}", alias, apiResponse));
+        }
+        return response
+                .switchIfEmpty(Mono.error(() -> new CityNotFoundException(city)))
+                .map(apiResponse -> weatherMetrics.timeParse(() -> parse(alias, apiResponse)));
+    }
+
+    private ParsedForecast parse(String alias, String apiResponse) {
+        ForecastParseEvent event = new ForecastParseEvent();
+        event.begin();
+        try {
+            ParsedForecast forecast = forecastParser.parseForecast(apiResponse);
+            event.commit(alias, "success", apiResponse.length());
+            return forecast;
+        } catch (RuntimeException e) {
+            event.commit(alias, WeatherMetrics.outcome(e), apiResponse.length());
+            throw e;
+        }
+    }
+
+    private Mono<String> fetchWeatherData(String city, String alias, QuotaScheduler.Priority priority) {
+        // the quota wait happens before the guard so it does not count towards upstream latency
+        return upstreamQuotaScheduler.schedule(priority, () -> upstreamGuard.execute(() -> weatherMetrics.timeFetch(
+                UpstreamFetchEvent.timed(alias, webClient
+                        .get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/data/2.5/forecast")
+                                .queryParam(CityKeys.isCityId(alias) ? "id" : "q", alias)
+                                .queryParam("appid", upstreamProperties.getApiKey())
+                                .build())
+                        .retrieve()
+                        .bodyToMono(String.class)))))
+                .onErrorMap(WebClientResponseException.NotFound.class, e -> new CityNotFoundException(city))
+                .onErrorMap(e -> !(e instanceof UpstreamUnavailableException || e instanceof CityNotFoundException),
+                        e -> new ExternalApiException("Error fetching data for city: " + city, e));
+    }
 }
@@ -0,0 +1,116 @@
+package au.com.visiondigital.weatherDataBackend.service.Impl;
+
+import au.com.visiondigital.weatherDataBackend.cache.CityKeys;
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.dto.StreamStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import au.com.visiondigital.weatherDataBackend.exeption.SubscriberLimitException;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import au.com.visiondigital.weatherDataBackend.service.WeatherStreamService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * One poller per city, shared by all of its subscribers. The poller reads the summary
+ * through {@link WeatherService} every {@code poll-interval}, so it is normally a cache
+ * hit and OpenWeatherMap is only called when the entry is reloaded. Only a changed
+ * summary is published. The poller starts with the first subscriber and stops when the
+ * last one disconnects.
+ */
+@Service
+@Slf4j
+public class WeatherStreamServiceImpl implements WeatherStreamService {
+    private final WeatherService weatherService;
+    private final WeatherProperties.Stream properties;
+    private final ConcurrentMap<String, CityPoller> pollers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public WeatherStreamServiceImpl(WeatherService weatherService, WeatherProperties properties) {
+        this.weatherService = weatherService;
+        this.properties = properties.getStream();
+    }
+
+    @Override
+    public Flux<ServerSentEvent<WeatherData>> subscribe(String city) {
+        // counted when the request arrives so the caller gets a 503 rather than an empty stream
+        if (subscribers.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscribers.decrementAndGet();
+            rejected.increment();
+            throw new SubscriberLimitException("Too many open weather streams, try again later");
+        }
+        String alias = CityKeys.normalize(city);
+        CityPoller poller = pollers.compute(alias, (key, current) -> {
+            CityPoller joined = current != null ? current : new CityPoller(poll(city));
+            joined.subscribers++;
+            return joined;
+        });
+
+        // a subscriber that falls behind skips to the newest summary instead of buffering
+        Flux<ServerSentEvent<WeatherData>> events = poller.summaries
+                .onBackpressureLatest()
+                .map(data -> ServerSentEvent.builder(data).event("weather").build())
+                .onErrorResume(CityNotFoundException.class, e -> Mono.just(
+                        ServerSentEvent.<WeatherData>builder().event("not-found").comment(e.getMessage()).build()));
+        Flux<ServerSentEvent<WeatherData>> heartbeats = Flux.interval(properties.getHeartbeat())
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<WeatherData>builder().comment("keep-alive").build());
+        return events
+                .publish(shared -> Flux.merge(shared, heartbeats.takeUntilOther(shared.then())))
+                .doFinally(signal -> {
+                    subscribers.decrementAndGet();
+                    pollers.computeIfPresent(alias, (key, current) -> {
+                        if (current != poller || --current.subscribers > 0) return current;
+                        current.connection.dispose();
+                        return null;
+                    });
+                });
+    }
+
+    private ConnectableFlux<WeatherData> poll(String city) {
+        return Flux.interval(Duration.ZERO, properties.getPollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> weatherService.getWeatherSummary(city)
+                        .onErrorResume(e -> !(e instanceof CityNotFoundException), e -> {
+                            // keep the last published summary and try again on the next tick
+                            log.debug("Stream poll failed for {}: {}", city, e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .distinctUntilChanged()
+                .doOnNext(data -> updates.increment())
+                // late subscribers start from the latest summary
+                .replay(1);
+    }
+
+    @Override
+    public StreamStatistics statistics() {
+        return new StreamStatistics(subscribers.get(), properties.getMaxSubscribers(), pollers.size(),
+                updates.sum(), rejected.sum());
+    }
+
+    /** A city's shared summaries; {@code subscribers} is only changed inside the map's compute calls. */
+    private static final class CityPoller {
+        private final Flux<WeatherData> summaries;
+        private final Disposable connection;
+        private int subscribers;
+
+        private CityPoller(ConnectableFlux<WeatherData> summaries) {
+            this.summaries = summaries;
+            this.connection = summaries.connect();
+        }
+    }
+}
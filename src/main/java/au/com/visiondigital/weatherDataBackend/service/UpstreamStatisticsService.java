@@ -0,0 +1,16 @@
+package au.com.visiondigital.weatherDataBackend.service;
+
+import au.com.visiondigital.weatherDataBackend.dto.ConnectionPoolStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.QuotaStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.UpstreamResilienceStatistics;
+
+import java.util.List;
+
+
+public interface UpstreamStatisticsService {
+    List<ConnectionPoolStatistics> getConnectionPoolStatistics();
+
+    UpstreamResilienceStatistics getResilienceStatistics();
+
+    QuotaStatistics getQuotaStatistics();
+}
@@ -1,8 +1,48 @@
 package au.com.visiondigital.weatherDataBackend.service;
 
+import au.com.visiondigital.weatherDataBackend.dto.PeerWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.dto.Versioned;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
 import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
 
 
 public interface WeatherService {
-    WeatherData getWeatherSummary(String city);
+    Mono<WeatherData> getWeatherSummary(String city);
+
+    /** The summary together with per-day min/max/mean/count and overall temperature percentiles. */
+    Mono<WeatherBreakdown> getWeatherBreakdown(String city);
+
+    /**
+     * {@link #getWeatherSummary} with the ETag, fetch time and remaining TTL of the entry it
+     * came from, and its body pre-encoded in {@code format} when pre-serialization is on.
+     */
+    Mono<Versioned<WeatherData>> getVersionedWeatherSummary(String city, ResponseFormat format);
+
+    Mono<Versioned<WeatherBreakdown>> getVersionedWeatherBreakdown(String city, ResponseFormat format);
+
+    /** The entry another cluster node asked this one for, served from here whichever node owns it. */
+    Mono<PeerWeather> getPeerWeather(String city);
+
+    Optional<WeatherData> getCachedWeatherSummary(String city);
+
+    /**
+     * Loads the city into the cache at background priority unless it is cached already.
+     * Emits true when it was fetched, false when the cache already had it or, in cluster
+     * mode, another node owns it.
+     */
+    Mono<Boolean> warmUp(String city);
+
+    /**
+     * Aggregate over the forecast points already fetched for the city in the last {@code days};
+     * never calls upstream. Empty when there are none. In cluster mode it is read from the owner.
+     */
+    Mono<TemperatureHistory> getTemperatureHistory(String city, int days);
+
+    /** {@link #getTemperatureHistory} from this node's store only. */
+    Optional<TemperatureHistory> getLocalTemperatureHistory(String city, int days);
 }
@@ -0,0 +1,18 @@
+package au.com.visiondigital.weatherDataBackend.service;
+
+import au.com.visiondigital.weatherDataBackend.dto.StreamStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+
+public interface WeatherStreamService {
+    /**
+     * The city's current summary, then every change to it, as server-sent events.
+     * Throws {@link au.com.visiondigital.weatherDataBackend.exeption.SubscriberLimitException}
+     * when the node is at its subscriber cap.
+     */
+    Flux<ServerSentEvent<WeatherData>> subscribe(String city);
+
+    StreamStatistics statistics();
+}
@@ -0,0 +1,126 @@
+package au.com.visiondigital.weatherDataBackend.timeseries;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Fixed-capacity ring of one city's temperatures, ordered by time: epoch seconds in a
+ * {@code long[]} and Celsius in a parallel {@code float[]}. A point for a time already
+ * held overwrites it, since a later forecast for the same slot is the better estimate;
+ * a newer point is appended and, once the ring is full, replaces the oldest.
+ */
+final class CitySeries {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] epochSeconds;
+    private final float[] temperatures;
+    private volatile String city;
+    /** Slot of the oldest point. */
+    private int head;
+    private int size;
+
+    CitySeries(int capacity) {
+        this.epochSeconds = new long[capacity];
+        this.temperatures = new float[capacity];
+    }
+
+    /** Running aggregate over one window; hottest and coldest are the times of the extreme points. */
+    record Window(int count, double sum, float max, long hottest, float min, long coldest) {
+    }
+
+    String city() {
+        return city;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Upserts the first {@code count} points; they are expected in time order, as a forecast lists them. */
+    void ingest(String city, long[] times, double[] values, int count, long unknownTime) {
+        this.city = city;
+        lock.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (times[i] != unknownTime) upsert(times[i], (float) values[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void upsert(long epochSecond, float temperature) {
+        if (size > 0 && epochSecond <= epochSeconds[slot(size - 1)]) {
+            // a time we no longer hold (older than the ring, or a gap in it) is dropped
+            int position = find(epochSecond);
+            if (position >= 0) temperatures[slot(position)] = temperature;
+            return;
+        }
+        if (size == epochSeconds.length) {
+            head = slot(1);
+            size--;
+        }
+        int slot = slot(size++);
+        epochSeconds[slot] = epochSecond;
+        temperatures[slot] = temperature;
+    }
+
+    /** Aggregates the points in {@code [fromEpochSecond, toEpochSecond]}. */
+    Window window(long fromEpochSecond, long toEpochSecond) {
+        lock.lock();
+        try {
+            int count = 0;
+            double sum = 0;
+            float max = Float.NEGATIVE_INFINITY;
+            float min = Float.POSITIVE_INFINITY;
+            long hottest = 0;
+            long coldest = 0;
+            for (int position = lowerBound(fromEpochSecond); position < size; position++) {
+                int slot = slot(position);
+                long time = epochSeconds[slot];
+                if (time > toEpochSecond) break;
+                float temperature = temperatures[slot];
+                count++;
+                sum += temperature;
+                if (temperature > max) {
+                    max = temperature;
+                    hottest = time;
+                }
+                if (temperature < min) {
+                    min = temperature;
+                    coldest = time;
+                }
+            }
+            return new Window(count, sum, max, hottest, min, coldest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int find(long epochSecond) {
+        int position = lowerBound(epochSecond);
+        return position < size && epochSeconds[slot(position)] == epochSecond ? position : -1;
+    }
+
+    /** First position whose time is at or after {@code epochSecond}. */
+    private int lowerBound(long epochSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochSeconds[slot(mid)] < epochSecond) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private int slot(int position) {
+        int slot = head + position;
+        return slot < epochSeconds.length ? slot : slot - epochSeconds.length;
+    }
+}
@@ -0,0 +1,87 @@
+package au.com.visiondigital.weatherDataBackend.timeseries;
+
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureStoreStatistics;
+import au.com.visiondigital.weatherDataBackend.parser.ForecastSeries;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Per-city history of every forecast point fetched, so rolling-window questions
+ * ("average over the last 7 days") are answered from memory instead of upstream.
+ * <p>
+ * Each city is a {@link CitySeries} of fixed capacity, so memory is bounded at
+ * {@code maxCities * pointsPerCity * 12} bytes of columns; cities beyond
+ * {@code maxCities} are evicted by Caffeine's size policy.
+ */
+public class TemperatureStore {
+    private static final long SECONDS_PER_DAY = 86_400;
+    // long epoch second + float temperature
+    private static final int BYTES_PER_POINT = Long.BYTES + Float.BYTES;
+
+    private final Cache<String, CitySeries> series;
+    private final long maxCities;
+    private final int pointsPerCity;
+    private final AtomicLong ingestedPoints = new AtomicLong();
+
+    public TemperatureStore(long maxCities, int pointsPerCity) {
+        this.maxCities = maxCities;
+        this.pointsPerCity = pointsPerCity;
+        this.series = Caffeine.newBuilder()
+                .maximumSize(maxCities)
+                .build();
+    }
+
+    /** Records the forecast points of {@code key}, the canonical cache key of the city. */
+    public void ingest(String key, String city, ForecastSeries forecast) {
+        if (forecast.count() == 0) return;
+        series.get(key, k -> new CitySeries(pointsPerCity))
+                .ingest(city, forecast.epochSeconds(), forecast.temperatures(), forecast.count(),
+                        ForecastSeries.UNKNOWN_TIME);
+        ingestedPoints.addAndGet(forecast.count());
+    }
+
+    /** Aggregates the {@code days} before {@code now}; empty when the city has no points in that window. */
+    public Optional<TemperatureHistory> history(String key, int days, Instant now) {
+        CitySeries city = series.getIfPresent(key);
+        if (city == null) return Optional.empty();
+
+        long to = now.getEpochSecond();
+        long from = to - days * SECONDS_PER_DAY;
+        CitySeries.Window window = city.window(from, to);
+        if (window.count() == 0) return Optional.empty();
+        return Optional.of(new TemperatureHistory(
+                city.city(),
+                days,
+                Instant.ofEpochSecond(from).toString(),
+                Instant.ofEpochSecond(to).toString(),
+                window.count(),
+                window.sum() / window.count(),
+                day(window.hottest()),
+                day(window.coldest())));
+    }
+
+    public TemperatureStoreStatistics statistics() {
+        long cities = series.estimatedSize();
+        long points = series.asMap().values().stream().mapToLong(CitySeries::size).sum();
+        long bytesPerCity = (long) pointsPerCity * BYTES_PER_POINT;
+        return new TemperatureStoreStatistics(
+                cities,
+                maxCities,
+                points,
+                pointsPerCity,
+                bytesPerCity,
+                cities * bytesPerCity,
+                ingestedPoints.get());
+    }
+
+    private static String day(long epochSecond) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY)).toString();
+    }
+}
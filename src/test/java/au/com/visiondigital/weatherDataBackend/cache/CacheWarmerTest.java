@@ -0,0 +1,79 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.dto.WarmupStatistics;
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheWarmerTest {
+
+    private final WeatherService weatherService = mock(WeatherService.class);
+    private final WeatherProperties properties = new WeatherProperties();
+
+    @Test
+    void run_CitiesFromPropertyAndFile_LoadsEachAliasOnceAndRecordsResults(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = Files.writeString(dir.resolve("cities.txt"), "# top cities\nParis\n\nBerlin\n");
+        properties.getWarmup().setCities(List.of("London", " london "));
+        properties.getWarmup().setFile(file.toString());
+        when(weatherService.warmUp("London")).thenReturn(Mono.just(true));
+        when(weatherService.warmUp("Paris")).thenReturn(Mono.just(false));
+        when(weatherService.warmUp("Berlin")).thenReturn(Mono.error(new CityNotFoundException("Berlin")));
+        CacheWarmer warmer = new CacheWarmer(weatherService, properties);
+
+        // Act
+        warmer.run(null);
+
+        // Assert
+        WarmupStatistics statistics = warmer.statistics();
+        assertEquals("COMPLETED", statistics.getState());
+        assertEquals(3, statistics.getCities());
+        assertEquals(1, statistics.getLoaded());
+        assertEquals(1, statistics.getAlreadyCached());
+        assertEquals(1, statistics.getFailed());
+        assertTrue(statistics.getFailures().containsKey("Berlin"));
+        assertFalse(statistics.isTimedOut());
+        verify(weatherService, times(3)).warmUp(anyString());
+        verify(weatherService, never()).warmUp(" london ");
+    }
+
+    @Test
+    void run_SlowerThanTimeout_ReturnsAndKeepsLoading() {
+        // Arrange
+        Sinks.One<Boolean> upstream = Sinks.one();
+        properties.getWarmup().setCities(List.of("London"));
+        properties.getWarmup().setTimeout(Duration.ofMillis(50));
+        when(weatherService.warmUp("London")).thenReturn(upstream.asMono());
+        CacheWarmer warmer = new CacheWarmer(weatherService, properties);
+
+        // Act
+        warmer.run(null);
+
+        // Assert
+        assertTrue(warmer.statistics().isTimedOut());
+        assertEquals("RUNNING", warmer.statistics().getState());
+        upstream.tryEmitValue(true);
+        assertEquals("COMPLETED", warmer.statistics().getState());
+        assertEquals(1, warmer.statistics().getLoaded());
+    }
+
+    @Test
+    void statistics_NoCitiesConfigured_NotConfigured() {
+        CacheWarmer warmer = new CacheWarmer(weatherService, properties);
+        warmer.run(null);
+        assertEquals("NOT_CONFIGURED", warmer.statistics().getState());
+        verifyNoInteractions(weatherService);
+    }
+}
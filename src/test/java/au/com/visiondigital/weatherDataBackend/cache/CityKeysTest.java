@@ -0,0 +1,23 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.parser.ParsedForecast;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityKeysTest {
+
+    @Test
+    void normalize_SpellingVariants_ProduceSameAlias() {
+        assertEquals("london", CityKeys.normalize("London"));
+        assertEquals("london", CityKeys.normalize("  LONDON\t"));
+        assertEquals("london,gb", CityKeys.normalize("London , GB"));
+        assertEquals("new york,us", CityKeys.normalize(" New   York,US "));
+    }
+
+    @Test
+    void canonicalKey_WithAndWithoutCityId_PrefersId() {
+        assertEquals("id:2643743", CityKeys.canonicalKey("london,gb", 2643743L));
+        assertEquals("london,gb", CityKeys.canonicalKey("london,gb", ParsedForecast.UNKNOWN_CITY_ID));
+    }
+}
@@ -0,0 +1,70 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.dto.LoadStatistics;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_ConcurrentCallersSameKey_ShareSingleLoad() {
+        // Arrange
+        AtomicInteger loaderCalls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        // Act
+        List<Mono<String>> callers = Flux.range(0, CALLERS)
+                .map(i -> singleFlight.execute("London", () -> {
+                    loaderCalls.incrementAndGet();
+                    return upstream.asMono();
+                }).cache())
+                .collectList()
+                .block();
+        callers.forEach(Mono::subscribe);
+        assertEquals(1, singleFlight.statistics("test").getInFlight());
+        upstream.tryEmitValue("forecast");
+
+        // Assert
+        callers.forEach(caller -> assertEquals("forecast", caller.block()));
+
+        LoadStatistics statistics = singleFlight.statistics("test");
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, statistics.getLoadCount());
+        assertEquals(CALLERS - 1, statistics.getAbsorbedCallers());
+        assertEquals(CALLERS - 1, statistics.getMaxAbsorbedPerLoad());
+        assertEquals(0, statistics.getInFlight());
+    }
+
+    @Test
+    void execute_LoaderFails_PropagatesSameFailureAndAllowsRetry() {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("upstream down");
+
+        // Act & Assert
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("London", () -> Mono.<String>error(failure)).block());
+        assertSame(failure, thrown);
+        assertEquals("recovered", singleFlight.execute("London", () -> Mono.just("recovered")).block());
+
+        LoadStatistics statistics = singleFlight.statistics("test");
+        assertEquals(2, statistics.getLoadCount());
+        assertEquals(1, statistics.getLoadFailureCount());
+    }
+
+    @Test
+    void execute_LoaderEmpty_CompletesEmpty() {
+        assertNull(singleFlight.execute("Atlantis", Mono::empty).block());
+        assertEquals(0, singleFlight.statistics("test").getInFlight());
+    }
+}
@@ -0,0 +1,94 @@
+package au.com.visiondigital.weatherDataBackend.cache;
+
+import au.com.visiondigital.weatherDataBackend.dto.DailyWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperaturePercentiles;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherCacheSnapshotTest {
+
+    private static final long NOW = 1_705_320_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeThenRead_LiveEntries_RoundTripWithTimestamps() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("snapshot.bin");
+        WeatherData saoPaulo = new WeatherData("São Paulo", 25.25, "2024-01-16", "2024-01-14");
+        WeatherData empty = new WeatherData("Nowhere", Double.NaN, null, null);
+
+        // Act
+        WeatherCacheSnapshot.write(file, List.of(
+                new WeatherCacheSnapshot.Entry("id:3448439", new CachedWeather(saoPaulo, NOW - 1_000), NOW + 60_000,
+                        List.of("são paulo", "sao paulo,br")),
+                new WeatherCacheSnapshot.Entry("nowhere", new CachedWeather(empty, NOW - 2_000), NOW + 30_000,
+                        List.of())));
+        List<WeatherCacheSnapshot.Entry> restored = WeatherCacheSnapshot.read(file, NOW);
+
+        // Assert
+        assertEquals(2, restored.size());
+        assertEquals("id:3448439", restored.get(0).key());
+        assertEquals(List.of("são paulo", "sao paulo,br"), restored.get(0).aliases());
+        assertTrue(restored.get(1).aliases().isEmpty());
+        assertEquals(saoPaulo, restored.get(0).value().getData());
+        assertEquals(NOW - 1_000, restored.get(0).value().getFetchedAtMillis());
+        assertEquals(NOW + 60_000, restored.get(0).expiresAtMillis());
+        assertNull(restored.get(1).value().getData().getHottestDay());
+        assertTrue(Double.isNaN(restored.get(1).value().getData().getAverageTemperature()));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count(), "temporary file should have been moved into place");
+        }
+    }
+
+    @Test
+    void writeThenRead_EntryWithBreakdown_RoundTripsDaysAndPercentiles() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("snapshot.bin");
+        WeatherData london = new WeatherData("London", 12.5, "2024-01-15", "2024-01-16");
+        WeatherBreakdown breakdown = new WeatherBreakdown(london,
+                List.of(new DailyWeather("2024-01-15", 10, 20, 15, 3), new DailyWeather("2024-01-16", 0, 5, 2.5, 2)),
+                new TemperaturePercentiles(2, 5, 10, 15, 18));
+
+        // Act
+        WeatherCacheSnapshot.write(file, List.of(new WeatherCacheSnapshot.Entry(
+                "id:2643743", new CachedWeather(breakdown, NOW), NOW + 60_000, List.of("london"))));
+        List<WeatherCacheSnapshot.Entry> restored = WeatherCacheSnapshot.read(file, NOW);
+
+        // Assert
+        assertEquals(breakdown, restored.get(0).value().getBreakdown());
+        assertEquals(london, restored.get(0).value().getData());
+    }
+
+    @Test
+    void read_EntryExpiredDuringDowntime_IsDropped() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("snapshot.bin");
+        WeatherData london = new WeatherData("London", 15.5, "2024-01-16", "2024-01-14");
+        WeatherCacheSnapshot.write(file, List.of(
+                new WeatherCacheSnapshot.Entry("id:2643743", new CachedWeather(london, NOW - 60_000), NOW - 1,
+                        List.of("london"))));
+
+        // Act & Assert
+        assertTrue(WeatherCacheSnapshot.read(file, NOW).isEmpty());
+    }
+
+    @Test
+    void read_NotASnapshot_ThrowsIOException() throws IOException {
+        // Arrange
+        Path file = Files.writeString(tempDir.resolve("snapshot.bin"), "not a snapshot");
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> WeatherCacheSnapshot.read(file, NOW));
+    }
+}
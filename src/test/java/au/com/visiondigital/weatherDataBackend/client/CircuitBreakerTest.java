@@ -0,0 +1,81 @@
+package au.com.visiondigital.weatherDataBackend.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(50, 4, 4, OPEN_DURATION, 2, clock::get);
+
+    @Test
+    void onFailure_FailureRateReachesThreshold_OpensAndRejects() {
+        // Arrange
+        record(true, true, false, false);
+
+        // Act
+        boolean permitted = circuitBreaker.tryAcquire();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(permitted);
+        assertEquals(1, circuitBreaker.getRejectedCalls());
+    }
+
+    @Test
+    void onFailure_BelowMinimumCalls_StaysClosed() {
+        // Arrange
+        record(true, true, true);
+
+        // Act & Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_AfterOpenDuration_AllowsTrialCallsAndClosesOnSuccess() {
+        // Arrange
+        record(true, true, true, true);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        // Act
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0.0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void onFailure_HalfOpenTrialFails_ReopensBreaker() {
+        // Arrange
+        record(true, true, true, true);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(circuitBreaker.tryAcquire());
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failure : failures) {
+            assertTrue(circuitBreaker.tryAcquire());
+            if (failure) circuitBreaker.onFailure();
+            else circuitBreaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package au.com.visiondigital.weatherDataBackend.client;
+
+import au.com.visiondigital.weatherDataBackend.dto.QuotaStatistics;
+import au.com.visiondigital.weatherDataBackend.exeption.QuotaExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuotaSchedulerTest {
+
+    // one token every 100ms
+    private final QuotaScheduler scheduler = new QuotaScheduler(600, 1, 2);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void schedule_QueueFull_RejectsWithRetryAfter() {
+        // Arrange
+        scheduler.schedule(QuotaScheduler.Priority.FOREGROUND, () -> Mono.just("first")).block();
+        scheduler.schedule(QuotaScheduler.Priority.FOREGROUND, () -> Mono.just("queued")).subscribe();
+        scheduler.schedule(QuotaScheduler.Priority.FOREGROUND, () -> Mono.just("queued")).subscribe();
+
+        // Act
+        QuotaExceededException exception = assertThrows(QuotaExceededException.class,
+                () -> scheduler.schedule(QuotaScheduler.Priority.FOREGROUND, () -> Mono.just("rejected")).block());
+
+        // Assert
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+        QuotaStatistics statistics = scheduler.statistics();
+        assertEquals(1, statistics.getRejectedCalls());
+        assertEquals(2, statistics.getQueuedCalls());
+    }
+
+    @Test
+    void schedule_TokensExhausted_RunsForegroundBeforeQueuedBackground() {
+        // Arrange
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.schedule(QuotaScheduler.Priority.FOREGROUND, () -> Mono.just("first")).block();
+        Mono<String> background = scheduler.schedule(QuotaScheduler.Priority.BACKGROUND,
+                () -> Mono.fromSupplier(() -> record(order, "background"))).cache();
+        Mono<String> foreground = scheduler.schedule(QuotaScheduler.Priority.FOREGROUND,
+                () -> Mono.fromSupplier(() -> record(order, "foreground"))).cache();
+
+        // Act
+        background.subscribe();
+        foreground.subscribe();
+
+        // Assert
+        assertEquals("background", background.block(Duration.ofSeconds(5)));
+        assertEquals("foreground", foreground.block(Duration.ofSeconds(5)));
+        assertEquals(List.of("foreground", "background"), order);
+    }
+
+    @Test
+    void schedule_QueuedCallCancelled_DoesNotRunIt() {
+        // Arrange
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.schedule(QuotaScheduler.Priority.FOREGROUND, () -> Mono.just("first")).block();
+
+        // Act
+        scheduler.schedule(QuotaScheduler.Priority.FOREGROUND,
+                () -> Mono.fromSupplier(() -> record(order, "cancelled"))).subscribe().dispose();
+        String next = scheduler.schedule(QuotaScheduler.Priority.FOREGROUND,
+                () -> Mono.fromSupplier(() -> record(order, "next"))).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals("next", next);
+        assertEquals(List.of("next"), order);
+        assertEquals(0, scheduler.statistics().getQueuedForeground());
+    }
+
+    private static String record(List<String> order, String value) {
+        order.add(value);
+        return value;
+    }
+}
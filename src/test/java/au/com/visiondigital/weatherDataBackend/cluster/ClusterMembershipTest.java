@@ -0,0 +1,47 @@
+package au.com.visiondigital.weatherDataBackend.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterMembershipTest {
+
+    @Test
+    void isLocal_ClusterDisabled_OwnsEveryCity() {
+        // Arrange
+        ClusterMembership membership = new ClusterMembership(false, null, List.of("http://localhost:8082"), 160);
+
+        // Act & Assert
+        assertTrue(membership.isLocal("london"));
+        assertNull(membership.ownerOf("london"));
+        assertTrue(membership.getNodes().isEmpty());
+    }
+
+    @Test
+    void ownerOf_TwoNodes_BothAgreeAndEachOwnsSomeCities() {
+        // Arrange
+        ClusterMembership a = new ClusterMembership(true, "http://localhost:8081/", List.of("http://localhost:8082"), 160);
+        ClusterMembership b = new ClusterMembership(true, "http://localhost:8082",
+                List.of("http://localhost:8081", "http://localhost:8082"), 160);
+
+        // Act
+        long ownedByA = IntStream.range(0, 1_000).mapToObj(i -> "city-" + i).filter(a::isLocal).count();
+
+        // Assert
+        assertEquals(List.of("http://localhost:8081", "http://localhost:8082"), a.getNodes());
+        IntStream.range(0, 1_000).mapToObj(i -> "city-" + i).forEach(city -> {
+            assertEquals(a.ownerOf(city), b.ownerOf(city));
+            assertNotEquals(a.isLocal(city), b.isLocal(city));
+        });
+        assertTrue(ownedByA > 300 && ownedByA < 700, "owned by a: " + ownedByA);
+    }
+
+    @Test
+    void constructor_EnabledWithoutSelf_Fails() {
+        assertThrows(IllegalStateException.class,
+                () -> new ClusterMembership(true, " ", List.of("http://localhost:8082"), 160));
+    }
+}
@@ -0,0 +1,67 @@
+package au.com.visiondigital.weatherDataBackend.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+    private static final List<String> THREE_NODES =
+            List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    void ownerOf_NodeListInAnyOrder_SameOwners() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(THREE_NODES, 160);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of(
+                "http://localhost:8083", "http://localhost:8081", "http://localhost:8082", "http://localhost:8081"), 160);
+
+        // Act & Assert
+        assertEquals(THREE_NODES, reordered.nodes());
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(ring.ownerOf("city-" + i), reordered.ownerOf("city-" + i));
+        }
+    }
+
+    @Test
+    void ownerOf_ManyKeys_SpreadsRoughlyEvenly() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(THREE_NODES, 160);
+        Map<String, Integer> owned = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < KEYS; i++) owned.merge(ring.ownerOf("city-" + i), 1, Integer::sum);
+
+        // Assert
+        assertEquals(3, owned.size());
+        owned.values().forEach(count -> assertTrue(count > KEYS / 3 * 0.8 && count < KEYS / 3 * 1.2,
+                "uneven share: " + owned));
+    }
+
+    @Test
+    void ownerOf_NodeAdded_MovesAboutOneInNKeysAllToNewNode() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(THREE_NODES, 160);
+        ConsistentHashRing grown = new ConsistentHashRing(List.of("http://localhost:8081", "http://localhost:8082",
+                "http://localhost:8083", "http://localhost:8084"), 160);
+
+        // Act
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String before = ring.ownerOf("city-" + i);
+            String after = grown.ownerOf("city-" + i);
+            if (!before.equals(after)) {
+                moved++;
+                assertEquals("http://localhost:8084", after);
+            }
+        }
+
+        // Assert
+        assertTrue(moved > KEYS / 4 * 0.8 && moved < KEYS / 4 * 1.2, "moved " + moved + " of " + KEYS);
+    }
+}
@@ -0,0 +1,233 @@
+package au.com.visiondigital.weatherDataBackend.controller;
+
+import au.com.visiondigital.weatherDataBackend.dto.DailyWeather;
+import au.com.visiondigital.weatherDataBackend.dto.Versioned;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.EncodedBody;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
+import au.com.visiondigital.weatherDataBackend.service.BatchWeatherService;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import au.com.visiondigital.weatherDataBackend.service.WeatherStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * HTTP caching headers, conditional requests and pre-serialized bodies on {@code GET /weather}
+ * and {@code GET /weather/daily}.
+ */
+@WebMvcTest(WeatherController.class)
+class WeatherControllerCachingTest {
+
+    private static final long FETCHED_AT = Instant.parse("2024-01-15T12:00:00Z").toEpochMilli();
+    private static final String LAST_MODIFIED = "Mon, 15 Jan 2024 12:00:00 GMT";
+    private static final WeatherData LONDON = new WeatherData("London", 15.5, "2024-01-16", "2024-01-14");
+    /** Not what Jackson would write for {@link #LONDON}, so a response with it came from the stored bytes. */
+    private static final byte[] STORED = "{\"city\":\"stored\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] STORED_GZIP = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WeatherService weatherService;
+
+    @MockBean
+    private BatchWeatherService batchWeatherService;
+
+    @MockBean
+    private WeatherStreamService weatherStreamService;
+
+    @Test
+    void getWeatherSummary_Fresh_ReturnsBodyWithValidators() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(LONDON, "v1", FETCHED_AT, 600, null)));
+
+        // Act & Assert
+        perform(get("/weather").param("city", "London"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=600, public"))
+                .andExpect(jsonPath("$.city").value("London"));
+    }
+
+    @Test
+    void getWeatherSummary_IfNoneMatchCurrent_ReturnsNotModified() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(LONDON, "v1", FETCHED_AT, 600, null)));
+
+        // Act & Assert
+        perform(get("/weather").param("city", "London").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getWeatherSummary_IfNoneMatchStale_ReturnsBody() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(LONDON, "v2", FETCHED_AT, 600, null)));
+
+        // Act & Assert
+        perform(get("/weather").param("city", "London").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v2\""))
+                .andExpect(jsonPath("$.city").value("London"));
+    }
+
+    @Test
+    void getWeatherBreakdown_Fresh_ReturnsBodyWithValidators() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherBreakdown("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(breakdown(), "v1-daily", FETCHED_AT, 600, null)));
+
+        // Act & Assert
+        perform(get("/weather/daily").param("city", "London"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-daily\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=600, public"))
+                .andExpect(jsonPath("$.days[0].date").value("2024-01-15"));
+    }
+
+    @Test
+    void getWeatherBreakdown_IfModifiedSinceFetchTime_ReturnsNotModified() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherBreakdown("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(breakdown(), "v1-daily", FETCHED_AT, 600, null)));
+
+        // Act & Assert
+        perform(get("/weather/daily").param("city", "London").header(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getWeatherBreakdown_IfModifiedSinceBeforeFetch_ReturnsBody() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherBreakdown("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(breakdown(), "v1-daily", FETCHED_AT, 600, null)));
+        String anHourBefore = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(Instant.ofEpochMilli(FETCHED_AT).minusSeconds(3600).atZone(ZoneOffset.UTC));
+
+        // Act & Assert
+        perform(get("/weather/daily").param("city", "London").header(HttpHeaders.IF_MODIFIED_SINCE, anHourBefore))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days[0].date").value("2024-01-15"));
+    }
+
+    @Test
+    void getWeatherSummary_LastKnownPastExpiry_ReturnsZeroMaxAge() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(LONDON, "v1", FETCHED_AT, 0, null)));
+
+        // Act & Assert
+        perform(get("/weather").param("city", "London"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, public"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+    }
+
+    @Test
+    void getWeatherSummary_PreSerialized_WritesStoredBytes() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(LONDON, "v1", FETCHED_AT, 600, new EncodedBody(STORED, null))));
+
+        // Act & Assert
+        perform(get("/weather").param("city", "London").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().bytes(STORED))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept")));
+    }
+
+    @Test
+    void getWeatherSummary_AcceptsGzip_WritesStoredGzipWithOwnETag() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(LONDON, "v1", FETCHED_AT, 600,
+                        new EncodedBody(STORED, STORED_GZIP))));
+
+        // Act & Assert
+        perform(get("/weather").param("city", "London").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(STORED_GZIP))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-gzip\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept, Accept-Encoding")));
+    }
+
+    @Test
+    void getWeatherBreakdown_GzipRefused_WritesStoredIdentityBytes() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherBreakdown("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(breakdown(), "v1-daily", FETCHED_AT, 600,
+                        new EncodedBody(STORED, STORED_GZIP))));
+
+        // Act & Assert
+        perform(get("/weather/daily").param("city", "London").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(STORED))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-daily\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept, Accept-Encoding")));
+    }
+
+    @Test
+    void getWeatherSummary_IfNoneMatchGzipETag_ReturnsNotModifiedOnlyForGzip() throws Exception {
+        // Arrange
+        when(weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON))
+                .thenReturn(Mono.just(new Versioned<>(LONDON, "v1", FETCHED_AT, 600,
+                        new EncodedBody(STORED, STORED_GZIP))));
+
+        // Act & Assert
+        perform(get("/weather").param("city", "London")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, "\"v1-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        perform(get("/weather").param("city", "London").header(HttpHeaders.IF_NONE_MATCH, "\"v1-gzip\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(STORED))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    /** The handlers return a Mono, so the response is written on an async dispatch. */
+    private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private static WeatherBreakdown breakdown() {
+        return new WeatherBreakdown(LONDON, List.of(new DailyWeather("2024-01-15", 12.0, 18.0, 15.5, 8)), null);
+    }
+}
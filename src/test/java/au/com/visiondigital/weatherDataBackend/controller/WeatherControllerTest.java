@@ -4,7 +4,9 @@ package au.com.visiondigital.weatherDataBackend.controller;
 import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
 import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
 import au.com.visiondigital.weatherDataBackend.exeption.ExternalApiException;
+import au.com.visiondigital.weatherDataBackend.service.BatchWeatherService;
 import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import au.com.visiondigital.weatherDataBackend.service.WeatherStreamService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -29,6 +32,12 @@ public class WeatherControllerTest {
     @MockBean
     private WeatherService weatherService;
 
+    @MockBean
+    private BatchWeatherService batchWeatherService;
+
+    @MockBean
+    private WeatherStreamService weatherStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -48,7 +57,7 @@ public class WeatherControllerTest {
     void getWeatherSummary_ValidCity_ReturnsWeatherData() throws Exception {
         // Arrange
         String city = "London";
-        when(weatherService.getWeatherSummary(city)).thenReturn(sampleWeatherData);
+        when(weatherService.getWeatherSummary(city)).thenReturn(Mono.just(sampleWeatherData));
 
         // Act & Assert
         mockMvc.perform(get("/api/weather/summary/{city}", city)
@@ -108,7 +117,7 @@ public class WeatherControllerTest {
         // Arrange
         String city = "São Paulo";
         WeatherData weatherData = new WeatherData(city, 25.0, "2024-01-15", "2024-01-13");
-        when(weatherService.getWeatherSummary(city)).thenReturn(weatherData);
+        when(weatherService.getWeatherSummary(city)).thenReturn(Mono.just(weatherData));
 
         // Act & Assert
         mockMvc.perform(get("/api/weather/summary/{city}", city)
@@ -125,7 +134,7 @@ public class WeatherControllerTest {
         // Arrange
         String city = "New York";
         WeatherData weatherData = new WeatherData(city, 18.0, "2024-01-15", "2024-01-13");
-        when(weatherService.getWeatherSummary(city)).thenReturn(weatherData);
+        when(weatherService.getWeatherSummary(city)).thenReturn(Mono.just(weatherData));
 
         // Act & Assert
         mockMvc.perform(get("/api/weather/summary/{city}", city)
@@ -168,7 +177,7 @@ public class WeatherControllerTest {
         // Arrange
         String city = "Moscow";
         WeatherData weatherData = new WeatherData(city, -10.5, "2024-01-15", "2024-01-13");
-        when(weatherService.getWeatherSummary(city)).thenReturn(weatherData);
+        when(weatherService.getWeatherSummary(city)).thenReturn(Mono.just(weatherData));
 
         // Act & Assert
         mockMvc.perform(get("/api/weather/summary/{city}", city)
@@ -184,7 +193,7 @@ public class WeatherControllerTest {
     void getWeatherSummary_CaseSensitivity_PassesCorrectly() throws Exception {
         // Arrange
         String city = "LONDON";
-        when(weatherService.getWeatherSummary(city)).thenReturn(sampleWeatherData);
+        when(weatherService.getWeatherSummary(city)).thenReturn(Mono.just(sampleWeatherData));
 
         // Act & Assert
         mockMvc.perform(get("/api/weather/summary/{city}", city)
@@ -0,0 +1,51 @@
+package au.com.visiondigital.weatherDataBackend.encoding;
+
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseEncoderTest {
+
+    private static final WeatherData LONDON = new WeatherData("London", 8.412345, "2024-01-16", "2024-01-14");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encode_EachFormat_RoundTripsAndBinaryIsSmallerThanJson() throws Exception {
+        // Arrange
+        ResponseEncoder encoder = new ResponseEncoder(objectMapper, -1);
+
+        // Act
+        byte[] json = encoder.encode(LONDON, ResponseFormat.JSON).body();
+        byte[] cbor = encoder.encode(LONDON, ResponseFormat.CBOR).body();
+        byte[] smile = encoder.encode(LONDON, ResponseFormat.SMILE).body();
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(LONDON), json);
+        assertEquals(LONDON, ResponseEncoder.cbor(objectMapper).readValue(cbor, WeatherData.class));
+        assertEquals(LONDON, ResponseEncoder.smile(objectMapper).readValue(smile, WeatherData.class));
+        assertTrue(cbor.length < json.length, "cbor " + cbor.length + " json " + json.length);
+        assertTrue(smile.length < json.length, "smile " + smile.length + " json " + json.length);
+    }
+
+    @Test
+    void encode_AtGzipThreshold_AddsGzipOfTheSameBody() throws Exception {
+        // Arrange
+        int size = ResponseEncoder.cbor(objectMapper).writeValueAsBytes(LONDON).length;
+
+        // Act
+        EncodedBody atThreshold = new ResponseEncoder(objectMapper, size).encode(LONDON, ResponseFormat.CBOR);
+        EncodedBody belowThreshold = new ResponseEncoder(objectMapper, size + 1).encode(LONDON, ResponseFormat.CBOR);
+
+        // Assert
+        assertNull(belowThreshold.gzip());
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(atThreshold.gzip()))) {
+            assertArrayEquals(atThreshold.body(), gunzip.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package au.com.visiondigital.weatherDataBackend.encoding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseFormatTest {
+
+    @Test
+    void negotiate_NoUsableAccept_Json() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("*/*"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("text/html"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("not a media type;;"));
+    }
+
+    @Test
+    void negotiate_BinaryTypes_HighestQualityWins() {
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("application/cbor"));
+        assertEquals(ResponseFormat.SMILE, ResponseFormat.negotiate("application/x-jackson-smile, application/json"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0.1, */*;q=0.8"));
+    }
+}
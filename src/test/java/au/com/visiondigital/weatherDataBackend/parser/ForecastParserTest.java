@@ -0,0 +1,156 @@
+package au.com.visiondigital.weatherDataBackend.parser;
+
+import au.com.visiondigital.weatherDataBackend.dto.DailyWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperaturePercentiles;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.exeption.ExternalApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastParserTest {
+
+    private final ForecastParser forecastParser = new ForecastParser();
+
+    @Test
+    void parse_RecordedForecast_MatchesTreeBasedReference() throws IOException {
+        // Arrange
+        String json = readFixture("/forecast/london.json");
+        JsonNode root = new ObjectMapper().readTree(json);
+        double total = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        String hottest = null;
+        String coldest = null;
+        for (JsonNode entry : root.get("list")) {
+            double temperature = entry.get("main").get("temp").asDouble() - 273.15;
+            String date = entry.get("dt_txt").asText().split(" ")[0];
+            total += temperature;
+            if (temperature > max) {
+                max = temperature;
+                hottest = date;
+            }
+            if (temperature < min) {
+                min = temperature;
+                coldest = date;
+            }
+        }
+
+        // Act
+        WeatherData result = forecastParser.parse(json);
+
+        // Assert
+        assertEquals("London", result.getCity());
+        assertEquals(total / root.get("list").size(), result.getAverageTemperature(), 1e-9);
+        assertEquals(hottest, result.getHottestDay());
+        assertEquals(coldest, result.getColdestDay());
+    }
+
+    @Test
+    void parseForecast_RecordedForecast_ReturnsCityId() throws IOException {
+        // Arrange
+        String json = readFixture("/forecast/london.json");
+
+        // Act
+        ParsedForecast result = forecastParser.parseForecast(json);
+
+        // Assert
+        assertEquals(2643743L, result.cityId());
+        assertEquals(forecastParser.parse(json), result.summary());
+    }
+
+    @Test
+    void parseForecast_TwoDays_BucketsPerDayAndComputesPercentiles() {
+        // Arrange
+        String json = """
+                {"list": [
+                    {"main": {"temp": 283.15}, "dt_txt": "2024-01-15 09:00:00"},
+                    {"main": {"temp": 293.15}, "dt_txt": "2024-01-15 12:00:00"},
+                    {"main": {"temp": 288.15}, "dt_txt": "2024-01-15 15:00:00"},
+                    {"main": {"temp": 273.15}, "dt_txt": "2024-01-16 00:00:00"},
+                    {"main": {"temp": 278.15}, "dt_txt": "2024-01-16 03:00:00"}
+                ], "city": {"id": 2643743, "name": "London"}}
+                """;
+
+        // Act
+        WeatherBreakdown result = forecastParser.parseForecast(json).breakdown();
+
+        // Assert
+        assertEquals(2, result.getDays().size());
+        DailyWeather first = result.getDays().get(0);
+        assertEquals("2024-01-15", first.getDate());
+        assertEquals(10.0, first.getMinTemperature(), 1e-9);
+        assertEquals(20.0, first.getMaxTemperature(), 1e-9);
+        assertEquals(15.0, first.getMeanTemperature(), 1e-9);
+        assertEquals(3, first.getCount());
+        DailyWeather second = result.getDays().get(1);
+        assertEquals("2024-01-16", second.getDate());
+        assertEquals(2.5, second.getMeanTemperature(), 1e-9);
+        assertEquals(2, second.getCount());
+
+        TemperaturePercentiles percentiles = result.getPercentiles();
+        assertEquals(2.0, percentiles.getP10(), 1e-9);
+        assertEquals(5.0, percentiles.getP25(), 1e-9);
+        assertEquals(10.0, percentiles.getP50(), 1e-9);
+        assertEquals(15.0, percentiles.getP75(), 1e-9);
+        assertEquals(18.0, percentiles.getP90(), 1e-9);
+    }
+
+    @Test
+    void parseForecast_RecordedForecast_DailyCountsCoverEveryEntry() throws IOException {
+        // Arrange
+        String json = readFixture("/forecast/london.json");
+
+        // Act
+        WeatherBreakdown result = forecastParser.parseForecast(json).breakdown();
+
+        // Assert
+        assertEquals(40, result.getDays().stream().mapToInt(DailyWeather::getCount).sum());
+        for (int i = 1; i < result.getDays().size(); i++) {
+            assertTrue(result.getDays().get(i - 1).getDate().compareTo(result.getDays().get(i).getDate()) < 0);
+        }
+    }
+
+    @Test
+    void parse_AllTemperaturesBelowFreezing_ReportsHottestDay() {
+        // Arrange
+        String json = """
+                {"list": [
+                    {"main": {"temp": 250.15}, "dt_txt": "2024-01-15 12:00:00"},
+                    {"main": {"temp": 260.15}, "dt_txt": "2024-01-16 12:00:00"}
+                ], "city": {"name": "Oymyakon"}}
+                """;
+
+        // Act
+        WeatherData result = forecastParser.parse(json);
+
+        // Assert
+        assertEquals("2024-01-16", result.getHottestDay());
+        assertEquals("2024-01-15", result.getColdestDay());
+    }
+
+    @Test
+    void parse_EntryWithoutTemperature_ThrowsExternalApiException() {
+        // Arrange
+        String json = """
+                {"city": {"name": "London"}, "list": [{"dt_txt": "2024-01-15 12:00:00"}]}
+                """;
+
+        // Act & Assert
+        assertThrows(ExternalApiException.class, () -> forecastParser.parse(json));
+    }
+
+    private static String readFixture(String path) throws IOException {
+        try (InputStream in = ForecastParserTest.class.getResourceAsStream(path)) {
+            assertNotNull(in, "missing fixture " + path);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
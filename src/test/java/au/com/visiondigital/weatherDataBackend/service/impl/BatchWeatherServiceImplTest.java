@@ -0,0 +1,79 @@
+package au.com.visiondigital.weatherDataBackend.service.impl;
+
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.dto.BatchWeatherResult;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import au.com.visiondigital.weatherDataBackend.exeption.InvalidRequestException;
+import au.com.visiondigital.weatherDataBackend.service.Impl.BatchWeatherServiceImpl;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchWeatherServiceImplTest {
+
+    @Mock
+    private WeatherService weatherService;
+
+    private WeatherProperties properties;
+
+    private BatchWeatherServiceImpl batchWeatherService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WeatherProperties();
+        batchWeatherService = new BatchWeatherServiceImpl(weatherService, properties);
+    }
+
+    @Test
+    void getWeatherSummaries_MixedHitsMissesAndFailures_ReturnsResultPerCityInOrder() {
+        // Arrange
+        WeatherData london = new WeatherData("London", 15.5, "2024-01-16", "2024-01-14");
+        WeatherData paris = new WeatherData("Paris", 17.0, "2024-01-15", "2024-01-15");
+        when(weatherService.getCachedWeatherSummary(anyString())).thenReturn(Optional.empty());
+        when(weatherService.getCachedWeatherSummary("London")).thenReturn(Optional.of(london));
+        when(weatherService.getWeatherSummary("Paris")).thenReturn(Mono.just(paris));
+        when(weatherService.getWeatherSummary("Atlantis"))
+                .thenReturn(Mono.error(new CityNotFoundException("Atlantis")));
+
+        // Act
+        List<BatchWeatherResult> results = batchWeatherService
+                .getWeatherSummaries(List.of("London", "Atlantis", "Paris", "London"))
+                .block();
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(List.of("London", "Atlantis", "Paris"),
+                results.stream().map(BatchWeatherResult::getCity).toList());
+        assertEquals(london, results.get(0).getData());
+        assertEquals(404, results.get(1).getStatus());
+        assertEquals("City not found: Atlantis", results.get(1).getError());
+        assertEquals(paris, results.get(2).getData());
+
+        // cache hits never reach the service
+        verify(weatherService, never()).getWeatherSummary("London");
+    }
+
+    @Test
+    void getWeatherSummaries_TooManyCities_ThrowsInvalidRequestException() {
+        // Arrange
+        properties.getBatch().setMaxCities(1);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> batchWeatherService.getWeatherSummaries(List.of("London", "Paris")).block());
+        verifyNoInteractions(weatherService);
+    }
+}
@@ -0,0 +1,99 @@
+package au.com.visiondigital.weatherDataBackend.service.impl;
+
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.diagnostics.CacheLookupEvent;
+import au.com.visiondigital.weatherDataBackend.diagnostics.RequestEventInterceptor;
+import au.com.visiondigital.weatherDataBackend.dto.RequestPhase;
+import au.com.visiondigital.weatherDataBackend.dto.SlowRequest;
+import au.com.visiondigital.weatherDataBackend.dto.SlowRequestReport;
+import au.com.visiondigital.weatherDataBackend.service.Impl.DiagnosticsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsServiceImplTest {
+
+    private final RequestEventInterceptor interceptor = new RequestEventInterceptor();
+
+    private DiagnosticsServiceImpl diagnosticsService;
+
+    @BeforeEach
+    void setUp() {
+        WeatherProperties properties = new WeatherProperties();
+        properties.getDiagnostics().setSlowThreshold(Duration.ofMillis(50));
+        diagnosticsService = new DiagnosticsServiceImpl(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        diagnosticsService.close();
+    }
+
+    @Test
+    void getSlowRequests_WhileCapturing_ListsSlowRequestWithItsPhases() throws Exception {
+        // Arrange
+        SlowRequestReport first = diagnosticsService.getSlowRequests();
+
+        // Act
+        request("London", 80);
+        request("Paris", 0);
+
+        // Assert
+        assertTrue(first.getRequests().isEmpty());
+        List<SlowRequest> requests = awaitSlowRequests();
+        assertEquals(1, requests.size());
+        SlowRequest slow = requests.get(0);
+        assertEquals("london", slow.getCity());
+        assertEquals("/weather", slow.getPath());
+        assertEquals(200, slow.getStatus());
+        assertEquals("success", slow.getOutcome());
+        assertTrue(slow.getDurationMillis() >= 50, "duration " + slow.getDurationMillis());
+        RequestPhase lookup = slow.getPhases().get(0);
+        assertEquals(CacheLookupEvent.NAME, lookup.getPhase());
+        assertEquals("miss", lookup.getOutcome());
+        assertEquals("cache", lookup.getDetail());
+    }
+
+    @Test
+    void getSlowRequests_BeforeCapturing_RequestsAreNotRecorded() throws Exception {
+        // Act
+        request("London", 80);
+        SlowRequestReport report = diagnosticsService.getSlowRequests();
+        Thread.sleep(1_500);
+
+        // Assert
+        assertTrue(report.getRequests().isEmpty());
+        assertTrue(diagnosticsService.getSlowRequests().getRequests().isEmpty());
+    }
+
+    /** What the interceptor and the service see of a {@code GET /weather} that misses the cache. */
+    private void request(String city, long millis) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/weather");
+        request.addParameter("city", city);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        CacheLookupEvent lookup = new CacheLookupEvent();
+        lookup.begin();
+        lookup.commit(city, "cache", "miss");
+        Thread.sleep(millis);
+        interceptor.afterCompletion(request, response, new Object(), null);
+    }
+
+    /** The stream delivers events about once a second. */
+    private List<SlowRequest> awaitSlowRequests() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<SlowRequest> requests = diagnosticsService.getSlowRequests().getRequests();
+        while (requests.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            requests = diagnosticsService.getSlowRequests().getRequests();
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,222 @@
+package au.com.visiondigital.weatherDataBackend.service.impl;
+
+import au.com.visiondigital.weatherDataBackend.cache.CityKeys;
+import au.com.visiondigital.weatherDataBackend.cache.RefreshAheadExecutor;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.cluster.ClusterMembership;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.config.ClusterConfig;
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.config.WebClientConfig;
+import au.com.visiondigital.weatherDataBackend.dto.DailyWeather;
+import au.com.visiondigital.weatherDataBackend.dto.PeerWeather;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseEncoder;
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import au.com.visiondigital.weatherDataBackend.exeption.InvalidRequestException;
+import au.com.visiondigital.weatherDataBackend.metrics.WeatherMetrics;
+import au.com.visiondigital.weatherDataBackend.service.Impl.WeatherServiceImpl;
+import au.com.visiondigital.weatherDataBackend.timeseries.TemperatureStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/** {@link WeatherServiceImpl} as one node of a two-node cluster, with the other node behind a mocked {@link PeerClient}. */
+@ExtendWith(MockitoExtension.class)
+class WeatherServiceImplClusterTest {
+
+    private static final String SELF = "http://localhost:8081";
+    private static final String PEER = "http://localhost:8082";
+    private static final String FORECAST = """
+            {"city": {"id": 2988507, "name": "Paris"}, "list": [
+                {"dt": 1705320000, "main": {"temp": 288.15}, "dt_txt": "2024-01-15 12:00:00"}
+            ]}
+            """;
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    @Mock
+    private PeerClient peerClient;
+
+    private WeatherProperties properties;
+
+    private CacheManager cacheManager;
+
+    private WeatherServiceImpl weatherService;
+
+    /** A city the peer owns, and one this node owns. */
+    private String remoteCity;
+    private String localCity;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WeatherProperties();
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setSelf(SELF);
+        properties.getCluster().setPeers(List.of(PEER));
+        ClusterMembership membership = new ClusterConfig().clusterMembership(properties);
+        remoteCity = city(name -> !membership.isLocal(CityKeys.normalize(name)));
+        localCity = city(name -> membership.isLocal(CityKeys.normalize(name)));
+
+        cacheManager = new CacheConfig().cacheManager(properties);
+        WebClientConfig webClientConfig = new WebClientConfig();
+        weatherService = new WeatherServiceImpl(webClient, webClientConfig.upstreamQuotaScheduler(properties),
+                webClientConfig.upstreamGuard(properties), new SingleFlight<>(), new RefreshAheadExecutor(1, 10),
+                new TemperatureStore(100, 16), new ResponseEncoder(new ObjectMapper(), 512),
+                membership, peerClient, cacheManager, properties, new WeatherMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void getWeatherSummary_CityOwnedByPeer_FetchedFromOwnerThenServedFromNearCache() {
+        // Arrange
+        when(peerClient.fetch(PEER, remoteCity)).thenReturn(Mono.just(peerWeather(remoteCity)));
+
+        // Act
+        WeatherData first = weatherService.getWeatherSummary(remoteCity).block();
+        WeatherData second = weatherService.getWeatherSummary(remoteCity).block();
+
+        // Assert
+        assertEquals(remoteCity, first.getCity());
+        assertSame(first, second);
+        verify(peerClient, times(1)).fetch(PEER, remoteCity);
+        verifyNoInteractions(webClient);
+        assertEquals(0, nativeSize(CacheConfig.WEATHER_SUMMARY));
+        assertEquals(1, nativeSize(CacheConfig.WEATHER_SUMMARY_NEAR));
+    }
+
+    @Test
+    void getWeatherSummary_OwnerReportsUnknownCity_CachedAsNotFound() {
+        // Arrange
+        when(peerClient.fetch(PEER, remoteCity)).thenReturn(Mono.error(new CityNotFoundException(remoteCity)));
+
+        // Act & Assert
+        assertThrows(CityNotFoundException.class, () -> weatherService.getWeatherSummary(remoteCity).block());
+        assertThrows(CityNotFoundException.class, () -> weatherService.getWeatherSummary(remoteCity).block());
+        verify(peerClient, times(1)).fetch(PEER, remoteCity);
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    void getWeatherSummary_OwnerDown_FetchesUpstreamIntoNearCacheOnly() {
+        // Arrange
+        when(peerClient.fetch(PEER, remoteCity)).thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+        stubUpstream();
+
+        // Act
+        WeatherData first = weatherService.getWeatherSummary(remoteCity).block();
+        WeatherData second = weatherService.getWeatherSummary(remoteCity).block();
+
+        // Assert
+        assertEquals("Paris", first.getCity());
+        assertSame(first, second);
+        verify(webClient, times(1)).get();
+        assertEquals(1, nativeSize(CacheConfig.WEATHER_SUMMARY_NEAR));
+        assertEquals(0, nativeSize(CacheConfig.WEATHER_SUMMARY));
+        assertEquals(0, nativeSize(CacheConfig.WEATHER_SUMMARY_LAST_KNOWN));
+        assertEquals(0, nativeSize(CacheConfig.WEATHER_SUMMARY_ALIASES));
+    }
+
+    @Test
+    void getWeatherSummary_CityOwnedHere_FetchesUpstreamWithoutAskingPeer() {
+        // Arrange
+        stubUpstream();
+
+        // Act
+        weatherService.getWeatherSummary(localCity).block();
+
+        // Assert
+        verifyNoInteractions(peerClient);
+        assertEquals(1, nativeSize(CacheConfig.WEATHER_SUMMARY));
+        assertEquals(0, nativeSize(CacheConfig.WEATHER_SUMMARY_NEAR));
+    }
+
+    @Test
+    void getTemperatureHistory_CityOwnedByPeer_ReadFromOwner() {
+        // Arrange
+        TemperatureHistory owned = new TemperatureHistory(remoteCity, 7, "2024-01-13", "2024-01-20", 8, 15.0,
+                "2024-01-14", "2024-01-18");
+        when(peerClient.history(PEER, remoteCity, 7)).thenReturn(Mono.just(owned));
+
+        // Act
+        TemperatureHistory history = weatherService.getTemperatureHistory(remoteCity, 7).block();
+
+        // Assert
+        assertSame(owned, history);
+        assertTrue(weatherService.getLocalTemperatureHistory(remoteCity, 7).isEmpty());
+    }
+
+    @Test
+    void getTemperatureHistory_DaysOutOfRange_ErrorsWithoutAskingOwner() {
+        // Act
+        Mono<TemperatureHistory> history = weatherService.getTemperatureHistory(remoteCity, 0);
+
+        // Assert
+        assertThrows(InvalidRequestException.class, history::block);
+        verifyNoInteractions(peerClient);
+    }
+
+    @Test
+    void getTemperatureHistory_OwnerUnavailable_FallsBackToLocalStore() {
+        // Arrange
+        when(peerClient.history(PEER, remoteCity, 7)).thenReturn(Mono.error(new IllegalStateException("down")));
+
+        // Act
+        Optional<TemperatureHistory> history = weatherService.getTemperatureHistory(remoteCity, 7).blockOptional();
+
+        // Assert
+        assertTrue(history.isEmpty());
+        verify(peerClient).history(PEER, remoteCity, 7);
+    }
+
+    private void stubUpstream() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(FORECAST));
+    }
+
+    private long nativeSize(String cache) {
+        return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache(cache).getNativeCache())
+                .estimatedSize();
+    }
+
+    private static PeerWeather peerWeather(String city) {
+        WeatherData summary = new WeatherData(city, 15.0, "2024-01-15", "2024-01-15");
+        return new PeerWeather(System.currentTimeMillis(),
+                new WeatherBreakdown(summary, List.of(new DailyWeather("2024-01-15", 15.0, 15.0, 15.0, 1)), null));
+    }
+
+    private static String city(Predicate<String> owned) {
+        return IntStream.range(0, 100).mapToObj(i -> "City " + i).filter(owned).findFirst().orElseThrow();
+    }
+}
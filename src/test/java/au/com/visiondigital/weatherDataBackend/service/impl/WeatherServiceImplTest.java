@@ -1,21 +1,44 @@
 package au.com.visiondigital.weatherDataBackend.service.impl;
 
+import au.com.visiondigital.weatherDataBackend.cache.RefreshAheadExecutor;
+import au.com.visiondigital.weatherDataBackend.cache.SingleFlight;
+import au.com.visiondigital.weatherDataBackend.cluster.PeerClient;
+import au.com.visiondigital.weatherDataBackend.config.CacheConfig;
+import au.com.visiondigital.weatherDataBackend.config.ClusterConfig;
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.config.WebClientConfig;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.dto.Versioned;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherBreakdown;
 import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseEncoder;
+import au.com.visiondigital.weatherDataBackend.encoding.ResponseFormat;
 import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
 import au.com.visiondigital.weatherDataBackend.exeption.ExternalApiException;
+import au.com.visiondigital.weatherDataBackend.exeption.InvalidRequestException;
+import au.com.visiondigital.weatherDataBackend.exeption.UpstreamUnavailableException;
+import au.com.visiondigital.weatherDataBackend.metrics.WeatherMetrics;
 import au.com.visiondigital.weatherDataBackend.service.Impl.WeatherServiceImpl;
+import au.com.visiondigital.weatherDataBackend.timeseries.TemperatureStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.function.Function;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -36,7 +59,13 @@ class WeatherServiceImplTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
-    @InjectMocks
+    @Mock
+    private PeerClient peerClient;
+
+    private WeatherProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private WeatherServiceImpl weatherService;
 
     private static final String SAMPLE_JSON_RESPONSE = """
@@ -69,6 +98,10 @@ class WeatherServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        properties = new WeatherProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        weatherService = newWeatherService();
+
         // Setup the WebClient mock chain
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
@@ -82,7 +115,7 @@ class WeatherServiceImplTest {
         when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
 
         // Act
-        WeatherData result = weatherService.getWeatherSummary(city);
+        WeatherData result = weatherService.getWeatherSummary(city).block();
 
         // Assert
         assertNotNull(result);
@@ -106,7 +139,7 @@ class WeatherServiceImplTest {
 
         // Act & Assert
         CityNotFoundException exception = assertThrows(CityNotFoundException.class,
-                () -> weatherService.getWeatherSummary(city));
+                () -> weatherService.getWeatherSummary(city).block());
 
         assertEquals("City not found: InvalidCity", exception.getMessage());
     }
@@ -120,7 +153,7 @@ class WeatherServiceImplTest {
 
         // Act & Assert
         ExternalApiException exception = assertThrows(ExternalApiException.class,
-                () -> weatherService.getWeatherSummary(city));
+                () -> weatherService.getWeatherSummary(city).block());
 
         assertTrue(exception.getMessage().contains("Error fetching data for city: London"));
         assertNotNull(exception.getCause());
@@ -142,7 +175,7 @@ class WeatherServiceImplTest {
         when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(emptyListResponse));
 
         // Act
-        WeatherData result = weatherService.getWeatherSummary(city);
+        WeatherData result = weatherService.getWeatherSummary(city).block();
 
         // Assert
         assertNotNull(result);
@@ -173,7 +206,7 @@ class WeatherServiceImplTest {
         when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(singleEntryResponse));
 
         // Act
-        WeatherData result = weatherService.getWeatherSummary(city);
+        WeatherData result = weatherService.getWeatherSummary(city).block();
 
         // Assert
         assertNotNull(result);
@@ -192,8 +225,8 @@ class WeatherServiceImplTest {
         when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(malformedJson));
 
         // Act & Assert
-        assertThrows(org.json.JSONException.class,
-                () -> weatherService.getWeatherSummary(city));
+        assertThrows(ExternalApiException.class,
+                () -> weatherService.getWeatherSummary(city).block());
     }
 
     @Test
@@ -203,7 +236,7 @@ class WeatherServiceImplTest {
         when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
 
         // Act
-        weatherService.getWeatherSummary(city);
+        weatherService.getWeatherSummary(city).block();
 
         // Assert - Verify that URI building function is called
         verify(requestHeadersUriSpec).uri(any(Function.class));
@@ -241,7 +274,7 @@ class WeatherServiceImplTest {
         when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(sameDayResponse));
 
         // Act
-        WeatherData result = weatherService.getWeatherSummary(city);
+        WeatherData result = weatherService.getWeatherSummary(city).block();
 
         // Assert
         assertNotNull(result);
@@ -280,7 +313,7 @@ class WeatherServiceImplTest {
         when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(extremeTempsResponse));
 
         // Act
-        WeatherData result = weatherService.getWeatherSummary(city);
+        WeatherData result = weatherService.getWeatherSummary(city).block();
 
         // Assert
         assertNotNull(result);
@@ -289,4 +322,275 @@ class WeatherServiceImplTest {
         assertEquals("2024-01-16", result.getHottestDay());
         assertEquals("2024-01-15", result.getColdestDay());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getWeatherSummary_CachedCity_DoesNotCallUpstreamAgain() {
+        // Arrange
+        String city = "London";
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
+
+        // Act
+        WeatherData first = weatherService.getWeatherSummary(city).block();
+        WeatherData second = weatherService.getWeatherSummary(city).block();
+
+        // Assert
+        assertSame(first, second);
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void getWeatherSummary_PastSoftTtl_ServesStaleAndRefreshesInBackground() {
+        // Arrange
+        String city = "London";
+        String refreshedResponse = SAMPLE_JSON_RESPONSE.replace("\"London\"", "\"London Refreshed\"");
+        properties.getCache().setRefreshAfter(Duration.ZERO);
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.just(SAMPLE_JSON_RESPONSE))
+                .thenReturn(Mono.just(refreshedResponse));
+        weatherService.getWeatherSummary(city).block();
+
+        // Act
+        WeatherData stale = weatherService.getWeatherSummary(city).block();
+
+        // Assert
+        assertEquals("London", stale.getCity());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals("London Refreshed",
+                weatherService.getCachedWeatherSummary(city).map(WeatherData::getCity).orElse(null)));
+        verify(webClient, atLeast(2)).get();
+    }
+
+    @Test
+    void getWeatherSummary_UnknownCityRequestedTwice_CallsUpstreamOnce() {
+        // Arrange
+        String city = "InvalidCity";
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.empty());
+        assertThrows(CityNotFoundException.class, () -> weatherService.getWeatherSummary(city).block());
+
+        // Act & Assert
+        CityNotFoundException exception = assertThrows(CityNotFoundException.class,
+                () -> weatherService.getWeatherSummary(city).block());
+        assertEquals("City not found: InvalidCity", exception.getMessage());
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void getWeatherSummary_Upstream404_ThrowsCityNotFoundExceptionAndCachesIt() {
+        // Arrange
+        String city = "Atlantis";
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.error(
+                WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        // Act & Assert
+        assertThrows(CityNotFoundException.class, () -> weatherService.getWeatherSummary(city).block());
+        assertThrows(CityNotFoundException.class, () -> weatherService.getWeatherSummary(city).block());
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void getWeatherSummary_AliasesOfSameCityId_ShareOneCacheEntry() {
+        // Arrange
+        String withId = SAMPLE_JSON_RESPONSE.replace("\"name\": \"London\"", "\"id\": 2643743, \"name\": \"London\"");
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.just(withId))
+                .thenReturn(Mono.just(withId.replace("\"London\"", "\"London Refreshed\"")));
+        weatherService.getWeatherSummary("London").block();
+
+        // Act
+        WeatherData byCountry = weatherService.getWeatherSummary("London,GB").block();
+        WeatherData byOtherSpelling = weatherService.getWeatherSummary("  LONDON ").block();
+
+        // Assert
+        assertEquals("London Refreshed", byCountry.getCity());
+        assertSame(byCountry, byOtherSpelling);
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    void getWeatherBreakdown_AfterSummary_ServedFromSameCacheEntry() {
+        // Arrange
+        String city = "London";
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
+        WeatherData summary = weatherService.getWeatherSummary(city).block();
+
+        // Act
+        WeatherBreakdown breakdown = weatherService.getWeatherBreakdown(city).block();
+
+        // Assert
+        assertSame(summary, breakdown.getSummary());
+        assertEquals(3, breakdown.getDays().size());
+        assertEquals(15.0, breakdown.getPercentiles().getP50(), 0.1);
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void getVersionedWeatherSummary_MissThenHit_SameValidatorsAndEncodedBody() throws Exception {
+        // Arrange
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
+
+        // Act
+        Versioned<WeatherData> fetched = weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON).block();
+        Versioned<WeatherData> cached = weatherService.getVersionedWeatherSummary(" london ", ResponseFormat.JSON).block();
+        Versioned<WeatherBreakdown> daily = weatherService.getVersionedWeatherBreakdown("London", ResponseFormat.JSON).block();
+
+        // Assert
+        assertSame(fetched.getValue(), cached.getValue());
+        assertEquals(fetched.getETag(), cached.getETag());
+        assertEquals(fetched.getLastModifiedMillis(), cached.getLastModifiedMillis());
+        assertNotEquals(fetched.getETag(), daily.getETag());
+        long timeToLive = properties.getCache().getTimeToLive().toSeconds();
+        assertTrue(cached.getMaxAgeSeconds() > timeToLive - 5 && cached.getMaxAgeSeconds() <= timeToLive);
+        assertSame(fetched.getEncoded(), cached.getEncoded());
+        assertEquals(new ObjectMapper().writeValueAsString(fetched.getValue()),
+                new String(cached.getEncoded().body(), StandardCharsets.UTF_8));
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void getVersionedWeatherSummary_Cbor_OwnETagAndDecodableBody() throws Exception {
+        // Arrange
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
+
+        // Act
+        Versioned<WeatherData> json = weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON).block();
+        Versioned<WeatherData> cbor = weatherService.getVersionedWeatherSummary("London", ResponseFormat.CBOR).block();
+
+        // Assert
+        assertEquals(json.getETag() + "-cbor", cbor.getETag());
+        assertEquals(json.getValue(), ResponseEncoder.cbor(new ObjectMapper())
+                .readValue(cbor.getEncoded().body(), WeatherData.class));
+        assertSame(cbor.getEncoded(),
+                weatherService.getVersionedWeatherSummary("London", ResponseFormat.CBOR).block().getEncoded());
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void warmUp_ThenSummary_FetchesOnceAndServesFromCache() {
+        // Arrange
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
+
+        // Act
+        Boolean fetched = weatherService.warmUp("London").block();
+        Boolean fetchedAgain = weatherService.warmUp("london").block();
+        WeatherData summary = weatherService.getWeatherSummary("London").block();
+
+        // Assert
+        assertTrue(fetched);
+        assertFalse(fetchedAgain);
+        assertEquals("London", summary.getCity());
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void getTemperatureHistory_AfterFetch_AggregatesPastPointsOnly() {
+        // Arrange
+        long now = Instant.now().getEpochSecond();
+        String json = """
+                {"city": {"id": 2643743, "name": "London"}, "list": [
+                    {"dt": %d, "main": {"temp": 283.15}, "dt_txt": "2024-01-15 12:00:00"},
+                    {"dt": %d, "main": {"temp": 293.15}, "dt_txt": "2024-01-16 12:00:00"},
+                    {"dt": %d, "main": {"temp": 313.15}, "dt_txt": "2024-01-17 12:00:00"}
+                ]}
+                """.formatted(now - 2 * 86_400, now - 86_400, now + 86_400);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(json));
+        weatherService.getWeatherSummary("London").block();
+
+        // Act
+        TemperatureHistory history = weatherService.getTemperatureHistory(" london ", 7).blockOptional().orElseThrow();
+
+        // Assert
+        assertEquals("London", history.getCity());
+        assertEquals(2, history.getPoints());
+        assertEquals(15.0, history.getAverageTemperature(), 0.01);
+        assertEquals(LocalDate.ofEpochDay(Math.floorDiv(now - 86_400, 86_400)).toString(), history.getHottestDay());
+        assertTrue(weatherService.getTemperatureHistory("Paris", 7).blockOptional().isEmpty());
+        Mono<TemperatureHistory> outOfRange = assertDoesNotThrow(() -> weatherService.getTemperatureHistory("London", 8));
+        assertThrows(InvalidRequestException.class, outOfRange::block);
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void getWeatherSummary_MissThenHit_RecordsPipelineTimers() {
+        // Arrange
+        String city = "London";
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(SAMPLE_JSON_RESPONSE));
+
+        // Act
+        weatherService.getWeatherSummary(city).block();
+        weatherService.getWeatherSummary(city).block();
+
+        // Assert
+        assertEquals(1, meterRegistry.get(WeatherMetrics.UPSTREAM_FETCH).tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(WeatherMetrics.PARSE).tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(WeatherMetrics.SUMMARY).tags("source", "upstream", "outcome", "success")
+                .timer().count());
+        assertEquals(1, meterRegistry.get(WeatherMetrics.SUMMARY).tags("source", "cache", "outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    void getWeatherSummary_CircuitOpen_ServesLastKnownSummary() {
+        // Arrange
+        String city = "London";
+        properties.getCache().setTimeToLive(Duration.ZERO);
+        properties.getUpstream().getCircuitBreaker().setSlidingWindowSize(1);
+        properties.getUpstream().getCircuitBreaker().setMinimumCalls(1);
+        weatherService = newWeatherService();
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.just(SAMPLE_JSON_RESPONSE))
+                .thenReturn(Mono.error(new RuntimeException("API Error")));
+        weatherService.getWeatherSummary(city).block();
+        assertThrows(ExternalApiException.class, () -> weatherService.getWeatherSummary(city).block());
+
+        // Act
+        WeatherData result = weatherService.getWeatherSummary(city).block();
+
+        // Assert
+        assertEquals("London", result.getCity());
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    void getVersionedWeatherSummary_CircuitOpen_LastKnownHasZeroMaxAge() {
+        // Arrange
+        properties.getCache().setTimeToLive(Duration.ZERO);
+        properties.getUpstream().getCircuitBreaker().setSlidingWindowSize(1);
+        properties.getUpstream().getCircuitBreaker().setMinimumCalls(1);
+        weatherService = newWeatherService();
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.just(SAMPLE_JSON_RESPONSE))
+                .thenReturn(Mono.error(new RuntimeException("API Error")));
+        Versioned<WeatherData> fetched = weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON).block();
+        assertThrows(ExternalApiException.class, () -> weatherService.getWeatherSummary("London").block());
+
+        // Act
+        Versioned<WeatherData> lastKnown = weatherService.getVersionedWeatherSummary("London", ResponseFormat.JSON).block();
+
+        // Assert
+        assertEquals(0, lastKnown.getMaxAgeSeconds());
+        assertEquals(fetched.getETag(), lastKnown.getETag());
+        assertEquals(fetched.getLastModifiedMillis(), lastKnown.getLastModifiedMillis());
+    }
+
+    @Test
+    void getWeatherSummary_CircuitOpenWithoutLastKnown_ThrowsUpstreamUnavailableException() {
+        // Arrange
+        properties.getUpstream().getCircuitBreaker().setSlidingWindowSize(1);
+        properties.getUpstream().getCircuitBreaker().setMinimumCalls(1);
+        weatherService = newWeatherService();
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.error(new RuntimeException("API Error")));
+        assertThrows(ExternalApiException.class, () -> weatherService.getWeatherSummary("London").block());
+
+        // Act & Assert
+        assertThrows(UpstreamUnavailableException.class,
+                () -> weatherService.getWeatherSummary("London").block());
+        verify(webClient, times(1)).get();
+    }
+
+    private WeatherServiceImpl newWeatherService() {
+        WebClientConfig webClientConfig = new WebClientConfig();
+        return new WeatherServiceImpl(webClient, webClientConfig.upstreamQuotaScheduler(properties),
+                webClientConfig.upstreamGuard(properties), new SingleFlight<>(), new RefreshAheadExecutor(1, 10),
+                new TemperatureStore(100, 16), new ResponseEncoder(new ObjectMapper(), 512),
+                new ClusterConfig().clusterMembership(properties), peerClient, new CacheConfig().cacheManager(properties), properties, new WeatherMetrics(meterRegistry));
+    }
+}
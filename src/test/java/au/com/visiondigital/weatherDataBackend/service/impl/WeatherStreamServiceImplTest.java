@@ -0,0 +1,122 @@
+package au.com.visiondigital.weatherDataBackend.service.impl;
+
+import au.com.visiondigital.weatherDataBackend.config.WeatherProperties;
+import au.com.visiondigital.weatherDataBackend.dto.StreamStatistics;
+import au.com.visiondigital.weatherDataBackend.dto.WeatherData;
+import au.com.visiondigital.weatherDataBackend.exeption.CityNotFoundException;
+import au.com.visiondigital.weatherDataBackend.exeption.SubscriberLimitException;
+import au.com.visiondigital.weatherDataBackend.service.Impl.WeatherStreamServiceImpl;
+import au.com.visiondigital.weatherDataBackend.service.WeatherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherStreamServiceImplTest {
+
+    private static final WeatherData MILD = new WeatherData("London", 15.0, "2024-01-16", "2024-01-14");
+    private static final WeatherData WARM = new WeatherData("London", 21.0, "2024-01-17", "2024-01-14");
+
+    @Mock
+    private WeatherService weatherService;
+
+    private WeatherProperties properties;
+
+    private VirtualTimeScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WeatherProperties();
+        properties.getStream().setPollInterval(Duration.ofSeconds(5));
+        properties.getStream().setHeartbeat(Duration.ofSeconds(15));
+        scheduler = VirtualTimeScheduler.getOrSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void subscribe_TwoSubscribersSameCity_ShareOnePollerAndReceiveOnlyChanges() {
+        // Arrange
+        WeatherStreamServiceImpl streams = new WeatherStreamServiceImpl(weatherService, properties);
+        when(weatherService.getWeatherSummary(anyString()))
+                .thenReturn(Mono.just(MILD), Mono.just(MILD), Mono.just(WARM));
+        List<ServerSentEvent<WeatherData>> first = new ArrayList<>();
+        List<ServerSentEvent<WeatherData>> second = new ArrayList<>();
+
+        // Act
+        Disposable firstSubscription = streams.subscribe("London").subscribe(first::add);
+        scheduler.advanceTime();
+        Disposable secondSubscription = streams.subscribe(" london ").subscribe(second::add);
+        scheduler.advanceTimeBy(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(List.of(MILD, WARM), first.stream().map(ServerSentEvent::data).toList());
+        assertEquals(List.of(MILD, WARM), second.stream().map(ServerSentEvent::data).toList());
+        assertEquals("weather", first.get(0).event());
+        verify(weatherService, times(3)).getWeatherSummary(anyString());
+        StreamStatistics statistics = streams.statistics();
+        assertEquals(2, statistics.getSubscribers());
+        assertEquals(1, statistics.getCities());
+        assertEquals(2, statistics.getUpdates());
+
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+        scheduler.advanceTimeBy(Duration.ofSeconds(30));
+        assertEquals(0, streams.statistics().getSubscribers());
+        assertEquals(0, streams.statistics().getCities());
+        verify(weatherService, times(3)).getWeatherSummary(anyString());
+    }
+
+    @Test
+    void subscribe_AtSubscriberCap_RejectsUntilASubscriberLeaves() {
+        // Arrange
+        properties.getStream().setMaxSubscribers(1);
+        WeatherStreamServiceImpl streams = new WeatherStreamServiceImpl(weatherService, properties);
+        when(weatherService.getWeatherSummary(anyString())).thenReturn(Mono.just(MILD));
+
+        // Act
+        Disposable subscription = streams.subscribe("London").subscribe();
+
+        // Assert
+        assertThrows(SubscriberLimitException.class, () -> streams.subscribe("Paris"));
+        assertEquals(1, streams.statistics().getRejected());
+        subscription.dispose();
+        assertDoesNotThrow(() -> streams.subscribe("Paris").subscribe().dispose());
+    }
+
+    @Test
+    void subscribe_UnknownCity_SendsNotFoundEventAndCompletes() {
+        // Arrange
+        WeatherStreamServiceImpl streams = new WeatherStreamServiceImpl(weatherService, properties);
+        when(weatherService.getWeatherSummary("Atlantis")).thenReturn(Mono.error(new CityNotFoundException("Atlantis")));
+        List<ServerSentEvent<WeatherData>> events = new ArrayList<>();
+        List<Boolean> completed = new ArrayList<>();
+
+        // Act
+        streams.subscribe("Atlantis").subscribe(events::add, e -> fail(e), () -> completed.add(true));
+        scheduler.advanceTimeBy(Duration.ofSeconds(30));
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals("not-found", events.get(0).event());
+        assertEquals(List.of(true), completed);
+        assertEquals(0, streams.statistics().getCities());
+    }
+}
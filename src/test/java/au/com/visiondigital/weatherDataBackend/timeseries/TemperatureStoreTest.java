@@ -0,0 +1,74 @@
+package au.com.visiondigital.weatherDataBackend.timeseries;
+
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureHistory;
+import au.com.visiondigital.weatherDataBackend.dto.TemperatureStoreStatistics;
+import au.com.visiondigital.weatherDataBackend.parser.ForecastSeries;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemperatureStoreTest {
+
+    private static final long DAY = 86_400;
+    private static final Instant NOW = Instant.parse("2024-01-20T00:00:00Z");
+
+    @Test
+    void ingest_OverlappingForecasts_LaterForecastReplacesSameTime() {
+        // Arrange
+        TemperatureStore store = new TemperatureStore(10, 16);
+        long t = NOW.getEpochSecond() - 3 * DAY;
+
+        // Act
+        store.ingest("id:1", "London", series(new long[]{t, t + DAY}, 10, 20));
+        store.ingest("id:1", "London", series(new long[]{t + DAY, t + 2 * DAY}, 30, 40));
+
+        // Assert
+        TemperatureHistory history = store.history("id:1", 7, NOW).orElseThrow();
+        assertEquals(3, history.getPoints());
+        assertEquals((10 + 30 + 40) / 3.0, history.getAverageTemperature(), 0.001);
+        assertEquals("2024-01-19", history.getHottestDay());
+        assertEquals("2024-01-17", history.getColdestDay());
+    }
+
+    @Test
+    void ingest_MorePointsThanCapacity_KeepsNewestAndWindowExcludesFuture() {
+        // Arrange
+        TemperatureStore store = new TemperatureStore(10, 4);
+        long start = NOW.getEpochSecond() - 5 * DAY;
+        long[] times = new long[7];
+        double[] temperatures = new double[7];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = start + i * DAY;
+            temperatures[i] = i;
+        }
+
+        // Act
+        store.ingest("id:1", "London", new ForecastSeries(times, temperatures, times.length));
+
+        // Assert: days 3..6 are held, day 6 is tomorrow
+        TemperatureHistory history = store.history("id:1", 7, NOW).orElseThrow();
+        assertEquals(3, history.getPoints());
+        assertEquals(4.0, history.getAverageTemperature(), 0.001);
+        TemperatureStoreStatistics statistics = store.statistics();
+        assertEquals(1, statistics.getCities());
+        assertEquals(4, statistics.getPoints());
+        assertEquals(4 * 12, statistics.getEstimatedBytes());
+    }
+
+    @Test
+    void history_UnknownCityOrNoPointsInWindow_IsEmpty() {
+        // Arrange
+        TemperatureStore store = new TemperatureStore(10, 16);
+        store.ingest("id:1", "London", series(new long[]{NOW.getEpochSecond() - 10 * DAY}, 10));
+
+        // Act & Assert
+        assertTrue(store.history("id:2", 7, NOW).isEmpty());
+        assertTrue(store.history("id:1", 7, NOW).isEmpty());
+    }
+
+    private static ForecastSeries series(long[] times, double... temperatures) {
+        return new ForecastSeries(times, temperatures, times.length);
+    }
+}